@@ -1,9 +1,15 @@
 package application;
 
-import application.services.Alerts;
+import application.database.CleverCashDatabase;
+import application.database.ConnectionPool;
+import application.database.ReferenceCache;
+import application.services.DataService;
+import application.services.DueAlertScheduler;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
 import javafx.scene.control.Separator;
 import javafx.scene.layout.AnchorPane;
 import javafx.stage.Stage;
@@ -24,6 +30,20 @@ public class Main extends Application {
      */
     @Override
     public void start(Stage primaryStage) {
+        // Stop before anything reads or writes a database whose schema could not be brought up to date
+        try {
+            CleverCashDatabase.open();
+        } catch (IllegalStateException e) {
+            e.printStackTrace();
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Database Error");
+            alert.setHeaderText("CleverCash could not open its database.");
+            alert.setContentText(e.getMessage() + " The upgrade was rolled back and will be retried on the next start.");
+            alert.showAndWait();
+            Platform.exit();
+            return;
+        }
+
         try {
             // Load the main FXML file
             AnchorPane root = FXMLLoader.load(getClass().getResource("/view/Main.fxml"));
@@ -42,15 +62,28 @@ public class Main extends Application {
             primaryStage.initStyle(StageStyle.UNDECORATED); // Removes default OS window decorations
             primaryStage.show();
 
-            // Notify user of scheduled transactions due today
-            Alerts alerts = new Alerts();
-            alerts.showDueTodayNotifications();
+            // Post scheduled transactions that fell due while the application was closed, notify the
+            // user of those due today, and keep doing so each day one falls due
+            DueAlertScheduler.start();
 
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Stops background loading and releases the pooled database connections when the application exits.
+     */
+    @Override
+    public void stop() {
+        DueAlertScheduler.stop();
+        DataService.shutdown();
+        System.out.println("Data loading " + DataService.getMetrics());
+        ConnectionPool.getAllStats().values().forEach(stats -> System.out.println("Connection pool " + stats));
+        ReferenceCache.getAllStats().values().forEach(stats -> System.out.println("Reference cache " + stats));
+        ConnectionPool.closeAll();
+    }
+
     /**
      * Makes a node draggable by adding mouse listeners that update the stage position.
      *
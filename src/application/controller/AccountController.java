@@ -1,7 +1,14 @@
 package application.controller;
 
 import application.database.AccountDatabase;
+import application.database.TransactionDatabase;
 import application.model.AccountBean;
+import application.model.Money;
+import application.services.DataService;
+import application.services.TransactionBatchAddedEvent;
+import application.services.TransactionsImportedEvent;
+import application.services.TransactionChangeEvent;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
@@ -20,14 +27,25 @@ import javafx.stage.Modality;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
 
 /**
  * The AccountController manages the Accounts page and displays stored accounts
  * using a TableView, allowing users to view, add, and delete accounts individually.
  */
-public class AccountController {
+public class AccountController implements Page {
 
     private final AccountDatabase accountDatabase = new AccountDatabase();
+    private final TransactionDatabase transactionDatabase = new TransactionDatabase();
+
+    // Current balances change with every transaction, so the table is reloaded after any was made elsewhere
+    private final StaleTracker staleBalances = new StaleTracker(this::refreshTableData)
+            .refreshOn(TransactionChangeEvent.class)
+            .refreshOn(TransactionBatchAddedEvent.class)
+            .refreshOn(TransactionsImportedEvent.class);
+
+    // Current balance in cents by account name, loaded with the table rows
+    private Map<String, Long> currentBalanceCents = Map.of();
 
     @FXML
     private AnchorPane accountBox;
@@ -47,6 +65,9 @@ public class AccountController {
     @FXML
     private TableColumn<AccountBean, Double> balanceCol;
 
+    @FXML
+    private TableColumn<AccountBean, Double> currentBalanceCol;
+
     @FXML
     private TableColumn<AccountBean, Void> deleteCol;
 
@@ -67,6 +88,16 @@ public class AccountController {
         applyFontScaling(tableView);  // Apply font scaling to the account table
     }
 
+    @Override
+    public void onShow() {
+        staleBalances.show();
+    }
+
+    @Override
+    public void onHide() {
+        staleBalances.hide();
+    }
+
     // Method to apply font scaling to a TableView
     private void applyFontScaling(TableView<?> tableView) {
         tableView.setStyle("-fx-font-size: 16px;");
@@ -76,11 +107,14 @@ public class AccountController {
         nameCol.setCellValueFactory(new PropertyValueFactory<>("name"));
         dateCol.setCellValueFactory(new PropertyValueFactory<>("openingDate"));
         balanceCol.setCellValueFactory(new PropertyValueFactory<>("openingBalance"));
+        currentBalanceCol.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(
+                Money.toDollars(currentBalanceCents.getOrDefault(cell.getValue().getName(), 0L))));
 
         // Set font size for each cell in nameCol, dateCol, and balanceCol
         nameCol.setCellFactory(column -> createStyledCellForString());
         dateCol.setCellFactory(column -> createStyledCellForDate());
         balanceCol.setCellFactory(column -> createStyledCellForDouble());
+        currentBalanceCol.setCellFactory(column -> createStyledCellForDouble());
 
         // Set up delete button with an icon in each row of deleteCol
         deleteCol.setCellFactory(col -> new TableCell<>() {
@@ -170,10 +204,23 @@ public class AccountController {
     }
 
     private void refreshTableData() {
-        ObservableList<AccountBean> accounts = accountDatabase.getAllAccounts();
-        tableView.setItems(accounts);
-        tableView.refresh();
-        System.out.println("TableView refreshed with " + accounts.size() + " accounts.");
+        tableView.setPlaceholder(new Label("Loading..."));
+        DataService.load(() -> {
+            // One query joins every account with its latest checkpoint and the transactions since
+            ObservableList<AccountBean> accounts = accountDatabase.getAllAccounts();
+            return new AccountRows(accounts, transactionDatabase.getAccountBalances(LocalDate.now()));
+        }, rows -> {
+            currentBalanceCents = rows.balances();
+            tableView.setItems(rows.accounts());
+            tableView.setPlaceholder(new Label("No content in table"));
+            System.out.println("TableView refreshed with " + rows.accounts().size() + " accounts.");
+        });
+    }
+
+    /**
+     * The accounts and their current balances, loaded together so every row has its balance when shown.
+     */
+    private record AccountRows(ObservableList<AccountBean> accounts, Map<String, Long> balances) {
     }
 
     private void handleDeleteAccount(AccountBean account) {
@@ -1,33 +1,63 @@
 package application.controller;
 
-import java.io.IOException;
 import java.time.LocalDate;
-import java.time.format.TextStyle;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 import application.database.AccountDatabase;
 import application.database.TransactionDatabase;
-import application.model.ScheduledTransactionBean;
+import application.model.DashboardSnapshot;
+import application.model.DueTransaction;
+import application.model.Granularity;
+import application.model.Money;
+import application.model.TimeSeries;
 import application.model.TransactionBean;
+import application.services.AccountChangeEvent;
+import application.services.DataService;
+import application.services.DueAlertScheduler;
+import application.services.EventBus;
+import application.services.ScheduledTransactionChangeEvent;
+import application.services.TransactionBatchAddedEvent;
+import application.services.TransactionsImportedEvent;
+import application.services.TransactionChangeEvent;
+import application.services.TransactionTypeChangeEvent;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
+import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
 import javafx.scene.chart.BarChart;
 import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
 import javafx.scene.chart.PieChart;
 import javafx.scene.chart.XYChart;
 import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.Tooltip;
 import javafx.scene.input.MouseEvent;
+import javafx.util.Duration;
+import javafx.util.StringConverter;
 
-public class HomeController {
+public class HomeController implements Page {
 
     @FXML
-    private LineChart<String, Number> lineChart;
+    private LineChart<Number, Number> lineChart;
+
+    @FXML
+    private NumberAxis trendAxis;
+
+    @FXML
+    private ComboBox<TrendRange> trendRangeComboBox;
+
+    @FXML
+    private ComboBox<Granularity> trendGranularityComboBox;
 
     @FXML
     private PieChart pieChart;
@@ -66,16 +96,49 @@ public class HomeController {
     private final AccountDatabase accountDatabase = new AccountDatabase();
     private final TransactionDatabase transactionDatabase = new TransactionDatabase();
 
-    private final Map<Integer, Double> monthlyExpenses = new HashMap<>();
-    private double monthlyIncome = 0.0;
-    private double monthlyExpensesTotal = 0.0;
+    // Data behind the summary labels and charts, loaded off the FX thread
+    private DashboardSnapshot snapshot;
+    private int accountCount;
+    private List<String> transactionTypes = List.of();
+    private Map<String, Long> transactionTypeAmounts = new HashMap<>();
+
+    // Change events arriving while a full load is in flight trigger another load instead of a delta
+    private boolean loading;
+    private boolean reloadAfterLoad;
+
+    // Scheduled transactions due within this many days are listed in the schedule count's tooltip
+    private static final int UPCOMING_DAYS = 7;
+    private static final DateTimeFormatter UPCOMING_DATE_FORMAT = DateTimeFormatter.ofPattern("EEE MMM d");
+
+    // Seconds to wait before loading the dashboard again after a failed load
+    private static final int DASHBOARD_RETRY_SECONDS = 5;
+
+    // Added-transaction batches larger than this reload the dashboard instead of applying deltas
+    private static final int MAX_BATCH_DELTAS = 1_000;
+
+    // Expense trend points drawn when the chart has not been laid out yet, about its preferred width
+    private static final int DEFAULT_TREND_POINTS = 750;
+
+    // Longer trend series are drawn without per-point symbols and click handlers
+    private static final int MAX_CLICKABLE_TREND_POINTS = 120;
+
+    // Incremented for every trend load, so only the newest result is drawn
+    private long trendGeneration;
 
-    // Controller instances
-    private AccountController accountController;
-    private TransactionController transactionController;
+    // The loaded trend before downsampling, its date range and the series drawn from it, kept so a changed
+    // transaction is applied to its bucket in memory; null while a trend load is in flight
+    private TimeSeries trendSeries;
+    private LocalDate trendFrom;
+    private LocalDate trendTo;
+    private int trendMaxPoints;
+    private XYChart.Series<Number, Number> trendChartSeries;
+
+    // Amounts are accumulated in cents and only converted to dollars for the charts
+    private long monthlyIncome = 0;
+    private long monthlyExpensesTotal = 0;
 
     // Variables to hold temporary labels or data
-    private XYChart.Data<String, Number> selectedLineDataPoint;
+    private XYChart.Data<Number, Number> selectedLineDataPoint;
     private XYChart.Data<String, Number> selectedBarDataPoint;
     private PieChart.Data selectedPieData;
 
@@ -84,14 +147,23 @@ public class HomeController {
         setupLineChart();
         setupPieChart();
         setupBarChart();
-        updateSummaryLabels();
-        updatePieChartData();
-        updateExpenseTrends();
-        loadBarChartData();
-
-        // Load controllers directly
-        loadAccountController();
-        loadTransactionController();
+        showLoadingPlaceholders();
+        refreshDashboard();
+
+        // Keep the aggregates current by applying each change as a delta; the page is cached for the
+        // life of the application, so the subscriptions are never cancelled
+        EventBus.subscribe(TransactionChangeEvent.class,
+                event -> onFxThread(() -> applyTransactionChange(event)));
+        EventBus.subscribe(ScheduledTransactionChangeEvent.class,
+                event -> onFxThread(() -> applyScheduledTransactionChange(event)));
+        EventBus.subscribe(TransactionBatchAddedEvent.class,
+                event -> onFxThread(() -> applyTransactionBatch(event)));
+        EventBus.subscribe(TransactionsImportedEvent.class,
+                event -> onFxThread(this::applyImport));
+        EventBus.subscribe(AccountChangeEvent.class,
+                event -> onFxThread(this::refreshAccountCount));
+        EventBus.subscribe(TransactionTypeChangeEvent.class,
+                event -> onFxThread(this::refreshTransactionTypes));
 
         // Hide the labels initially and style them
         lineChartDataLabel.setVisible(false);
@@ -116,29 +188,17 @@ public class HomeController {
         label.setMaxWidth(javafx.scene.layout.Region.USE_PREF_SIZE);
     }
 
-    private void loadAccountController() {
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/Accounts.fxml"));
-            loader.load();
-            accountController = loader.getController();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-
-    private void loadTransactionController() {
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/Transactions.fxml"));
-            loader.load();
-            transactionController = loader.getController();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-
     private void setupLineChart() {
         lineChart.getData().clear();
         lineChart.setTitle("Expense Trends");
+        lineChart.setAnimated(false);
+
+        trendRangeComboBox.setItems(FXCollections.observableArrayList(TrendRange.values()));
+        trendRangeComboBox.setValue(TrendRange.THIS_YEAR);
+        trendGranularityComboBox.setItems(FXCollections.observableArrayList(Granularity.values()));
+        trendGranularityComboBox.setValue(Granularity.MONTH);
+        trendRangeComboBox.valueProperty().addListener((observable, oldValue, newValue) -> updateExpenseTrends());
+        trendGranularityComboBox.valueProperty().addListener((observable, oldValue, newValue) -> updateExpenseTrends());
     }
 
     private void setupPieChart() {
@@ -151,11 +211,318 @@ public class HomeController {
         barChart.setTitle("Expenses by Transaction Type");
     }
 
+    private void showLoadingPlaceholders() {
+        accountsLabel.setText("...");
+        transactionsLabel.setText("...");
+        scheduledTransactionsLabel.setText("...");
+    }
+
+    /**
+     * Reloads the dashboard data on a background thread and redraws every summary label and chart
+     * on the FX thread once it arrives. The transaction figures come from a single aggregate query.
+     */
+    public void refreshDashboard() {
+        loading = true;
+        reloadAfterLoad = false;
+        DataService.load(() -> new DashboardData(
+                transactionDatabase.getDashboardSnapshot(LocalDate.now()),
+                accountDatabase.countAccounts(),
+                transactionDatabase.getAllTransactionTypes(),
+                transactionDatabase.getTransactionTypeAmounts(),
+                DueAlertScheduler.dueWithin(UPCOMING_DAYS)
+        ), data -> {
+            loading = false;
+            if (reloadAfterLoad) {
+                // The data changed while loading; the result may or may not include the change
+                refreshDashboard();
+                return;
+            }
+
+            snapshot = data.snapshot();
+            accountCount = data.accountCount();
+            transactionTypes = data.transactionTypes();
+            transactionTypeAmounts = new HashMap<>(data.transactionTypeAmounts());
+            showUpcomingScheduledTransactions(data.upcoming());
+            redrawDashboard();
+        }).whenComplete((data, error) -> {
+            if (error != null) {
+                onFxThread(this::dashboardLoadFailed);
+            }
+        });
+    }
+
+    /**
+     * Clears the loading flag after a failed load, which DataService has already logged. The old
+     * snapshot may have missed changes, so it is dropped: the next change event reloads in full
+     * instead of applying a delta, and a retry is scheduled in case none comes.
+     */
+    private void dashboardLoadFailed() {
+        loading = false;
+        reloadAfterLoad = false;
+        snapshot = null;
+        PauseTransition retry = new PauseTransition(Duration.seconds(DASHBOARD_RETRY_SECONDS));
+        retry.setOnFinished(event -> {
+            if (snapshot == null && !loading) {
+                refreshDashboard();
+            }
+        });
+        retry.play();
+    }
+
+    private void redrawDashboard() {
+        updateSummaryLabels();
+        updatePieChartData();
+        updateExpenseTrends();
+        loadBarChartData();
+    }
+
+    /**
+     * Applies an added, updated or deleted transaction to the in-memory aggregates without reloading.
+     */
+    private void applyTransactionChange(TransactionChangeEvent event) {
+        if (loading) {
+            reloadAfterLoad = true;
+            return;
+        }
+        if (snapshot == null || !snapshot.getCurrentMonth().equals(YearMonth.now())) {
+            // Nothing loaded yet, or the month rolled over since the last full load
+            refreshDashboard();
+            return;
+        }
+
+        List<Delta> deltas = new ArrayList<>(2);
+        if (event.before() != null) {
+            deltas.add(new Delta(event.before(), -1));
+        }
+        if (event.after() != null) {
+            deltas.add(new Delta(event.after(), 1));
+        }
+        applyDeltas(deltas);
+    }
+
+    /**
+     * Applies a batch of added transactions, e.g. from an import. Large batches trigger one full reload
+     * instead, which is cheaper than replaying thousands of deltas on the FX thread.
+     */
+    private void applyTransactionBatch(TransactionBatchAddedEvent event) {
+        if (loading) {
+            reloadAfterLoad = true;
+            return;
+        }
+        if (snapshot == null || !snapshot.getCurrentMonth().equals(YearMonth.now())
+                || event.transactions().size() > MAX_BATCH_DELTAS) {
+            refreshDashboard();
+            return;
+        }
+
+        List<Delta> deltas = new ArrayList<>(event.transactions().size());
+        for (TransactionBean transaction : event.transactions()) {
+            deltas.add(new Delta(transaction, 1));
+        }
+        applyDeltas(deltas);
+    }
+
+    /**
+     * A transaction to add to the aggregates (sign 1) or take out of them (sign -1).
+     */
+    private record Delta(TransactionBean transaction, int sign) {
+    }
+
+    /**
+     * Applies transaction deltas to the snapshot, the type amounts and the loaded trend, then redraws only
+     * what they touched: the pie chart for changes in the current month, the bars of types with payments,
+     * and the trend points in the selected range. Nothing is queried unless the trend has to grow to an
+     * earlier month or was still loading.
+     */
+    private void applyDeltas(List<Delta> deltas) {
+        boolean currentMonthChanged = false;
+        boolean trendResampled = false;
+        Set<String> changedTypes = new HashSet<>();
+        for (Delta delta : deltas) {
+            TransactionBean transaction = delta.transaction();
+            if (delta.sign() < 0) {
+                snapshot.applyTransactionChange(transaction, null);
+            } else {
+                snapshot.applyTransactionChange(null, transaction);
+            }
+            if (YearMonth.from(transaction.getTransactionDate()).equals(snapshot.getCurrentMonth())) {
+                currentMonthChanged = true;
+            }
+            if (transaction.getPaymentCents() != 0) {
+                adjustTransactionTypeAmount(transaction, delta.sign());
+                changedTypes.add(transaction.getTransactionType());
+            }
+            trendResampled |= applyTrendDelta(transaction, delta.sign());
+        }
+
+        updateSummaryLabels();
+        if (currentMonthChanged) {
+            updatePieChartData();
+        }
+        changedTypes.forEach(this::updateBarAmount);
+        if (trendSeries == null) {
+            updateExpenseTrends();
+        } else if (trendResampled) {
+            drawExpenseTrend(trendSeries.downsample(trendMaxPoints));
+        }
+    }
+
+    /**
+     * Adds a transaction's net expense to its bucket of the loaded trend. When every bucket is drawn, the
+     * bucket's point is updated in place. Dates outside the selected range are ignored, except that
+     * "All time" is reloaded to take in a month earlier than it starts.
+     *
+     * @return true if the trend is downsampled and has to be sampled again, since the points worth keeping may change.
+     */
+    private boolean applyTrendDelta(TransactionBean transaction, int sign) {
+        if (trendSeries == null) {
+            return false; // A load is in flight or needed; it reads the change from the database
+        }
+        LocalDate date = transaction.getTransactionDate();
+        if (date.isBefore(trendFrom) && trendRangeComboBox.getValue() == TrendRange.ALL) {
+            trendSeries = null;
+            return false;
+        }
+        long net = transaction.getPaymentCents() - transaction.getDepositCents();
+        if (net == 0 || date.isBefore(trendFrom) || date.isAfter(trendTo)) {
+            return false;
+        }
+        trendSeries.add(date, sign * net);
+        if (trendChartSeries == null || trendChartSeries.getData().size() != trendSeries.size()) {
+            return true;
+        }
+        int index = trendSeries.indexOf(date);
+        trendChartSeries.getData().get(index).setYValue(Money.toDollars(trendSeries.getCents(index)));
+        return false;
+    }
+
+    /**
+     * Reloads the dashboard once after a file import, which publishes a single event for all the batches it wrote.
+     */
+    private void applyImport() {
+        if (loading) {
+            reloadAfterLoad = true;
+            return;
+        }
+        refreshDashboard();
+    }
+
+    private void adjustTransactionTypeAmount(TransactionBean transaction, int sign) {
+        transactionTypeAmounts.merge(transaction.getTransactionType(), sign * transaction.getPaymentCents(), Long::sum);
+    }
+
+    /**
+     * Applies an added or deleted scheduled transaction to the schedule count. Due schedules reach the
+     * charts as posted transactions, through the transaction events.
+     */
+    private void applyScheduledTransactionChange(ScheduledTransactionChangeEvent event) {
+        if (loading) {
+            reloadAfterLoad = true;
+            return;
+        }
+        if (snapshot == null) {
+            refreshDashboard();
+            return;
+        }
+
+        if (event.before() == null) {
+            snapshot.applyScheduledTransactionCountChange(1);
+        } else if (event.after() == null) {
+            snapshot.applyScheduledTransactionCountChange(-1);
+        }
+        updateSummaryLabels();
+        DataService.load(() -> DueAlertScheduler.dueWithin(UPCOMING_DAYS), this::showUpcomingScheduledTransactions);
+    }
+
+    private void showUpcomingScheduledTransactions(List<DueTransaction> upcoming) {
+        if (upcoming.isEmpty()) {
+            scheduledTransactionsLabel.setTooltip(new Tooltip("Nothing due in the next " + UPCOMING_DAYS + " days"));
+            return;
+        }
+        StringBuilder text = new StringBuilder("Due in the next " + UPCOMING_DAYS + " days:");
+        for (DueTransaction due : upcoming) {
+            text.append("\n").append(UPCOMING_DATE_FORMAT.format(due.dueDate())).append("  ")
+                    .append(due.schedule().getScheduleName()).append("  ")
+                    .append(Money.format(due.schedule().getPaymentCents()));
+        }
+        scheduledTransactionsLabel.setTooltip(new Tooltip(text.toString()));
+    }
+
+    private void onFxThread(Runnable action) {
+        if (Platform.isFxApplicationThread()) {
+            action.run();
+        } else {
+            Platform.runLater(action);
+        }
+    }
+
+    /**
+     * The date ranges offered for the expense trend chart.
+     */
+    private enum TrendRange {
+        THIS_YEAR("This year", 0),
+        LAST_12_MONTHS("Last 12 months", 12),
+        LAST_5_YEARS("Last 5 years", 60),
+        LAST_10_YEARS("Last 10 years", 120),
+        ALL("All time", 0);
+
+        private final String displayName;
+        private final int months;
+
+        TrendRange(String displayName, int months) {
+            this.displayName = displayName;
+            this.months = months;
+        }
+
+        LocalDate from(LocalDate today, YearMonth earliestMonth) {
+            return switch (this) {
+                case THIS_YEAR -> today.withDayOfYear(1);
+                case ALL -> earliestMonth == null ? today.withDayOfYear(1) : earliestMonth.atDay(1);
+                default -> today.withDayOfMonth(1).minusMonths(months - 1);
+            };
+        }
+
+        LocalDate to(LocalDate today) {
+            return YearMonth.from(today).atEndOfMonth();
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    /**
+     * Everything the dashboard needs, gathered in one background load.
+     */
+    private record DashboardData(DashboardSnapshot snapshot, int accountCount,
+                                 List<String> transactionTypes, Map<String, Long> transactionTypeAmounts,
+                                 List<DueTransaction> upcoming) {
+    }
+
+    private void refreshAccountCount() {
+        DataService.load(accountDatabase::countAccounts, count -> {
+            accountCount = count;
+            updateSummaryLabels();
+        });
+    }
+
+    // A new type has no amounts yet, so only the list of bars changes
+    private void refreshTransactionTypes() {
+        DataService.load(transactionDatabase::getAllTransactionTypes, types -> {
+            transactionTypes = types;
+            loadBarChartData();
+        });
+    }
+
     public void updateSummaryLabels() {
+        if (snapshot == null) {
+            return; // Still loading
+        }
+
         try {
-            int accountCount = accountDatabase.getAllAccounts().size();
-            int transactionCount = transactionDatabase.getAllTransactions().size();
-            int scheduledTransactionCount = transactionDatabase.getAllScheduledTransactions().size();
+            int transactionCount = snapshot.getTransactionCount();
+            int scheduledTransactionCount = snapshot.getScheduledTransactionCount();
 
             accountsLabel.setText(String.valueOf(accountCount));
             transactionsLabel.setText(String.valueOf(transactionCount));
@@ -169,45 +536,25 @@ public class HomeController {
     }
 
     public void updatePieChartData() {
-        try {
-            monthlyIncome = 0.0;
-            monthlyExpensesTotal = 0.0;
-
-            LocalDate today = LocalDate.now();
-            int currentMonth = today.getMonthValue();
-            int currentYear = today.getYear();
-            int currentDay = today.getDayOfMonth();
-
-            List<TransactionBean> transactions = transactionDatabase.getAllTransactions();
-            List<ScheduledTransactionBean> scheduledTransactions = transactionDatabase.getAllScheduledTransactions();
-
-            // Process regular transactions for the current month
-            for (TransactionBean transaction : transactions) {
-                if (transaction.getTransactionDate().getMonthValue() == currentMonth && transaction.getTransactionDate().getYear() == currentYear) {
-                    if (transaction.getPaymentAmount() > 0) {
-                        monthlyExpensesTotal += transaction.getPaymentAmount();
-                    }
-                    if (transaction.getDepositAmount() > 0) {
-                        monthlyIncome += transaction.getDepositAmount();
-                    }
-                }
-            }
-
-            // Process scheduled transactions for the current month
-            for (ScheduledTransactionBean scheduledTransaction : scheduledTransactions) {
-                int dueDate = scheduledTransaction.getDueDate();
-                if (dueDate > 31) continue;
+        if (snapshot == null) {
+            return; // Still loading
+        }
 
-                if (dueDate <= currentDay) {
-                    if (scheduledTransaction.getPaymentAmount() > 0) {
-                        monthlyExpensesTotal += scheduledTransaction.getPaymentAmount();
-                    }
-                }
+        try {
+            // Transactions for the current month, summed in SQL; due schedules are posted as transactions
+            monthlyIncome = snapshot.getCurrentMonthIncomeCents();
+            monthlyExpensesTotal = snapshot.getCurrentMonthExpensesCents();
+
+            // Already drawn: update the two slices, keeping their nodes and handlers
+            if (pieChart.getData().size() == 2) {
+                pieChart.getData().get(0).setPieValue(Money.toDollars(monthlyIncome));
+                pieChart.getData().get(1).setPieValue(Money.toDollars(monthlyExpensesTotal));
+                return;
             }
 
             pieChart.getData().clear();
-            PieChart.Data incomeData = new PieChart.Data("Income", monthlyIncome);
-            PieChart.Data expenseData = new PieChart.Data("Expenses", monthlyExpensesTotal);
+            PieChart.Data incomeData = new PieChart.Data("Income", Money.toDollars(monthlyIncome));
+            PieChart.Data expenseData = new PieChart.Data("Expenses", Money.toDollars(monthlyExpensesTotal));
 
             pieChart.getData().addAll(incomeData, expenseData);
 
@@ -239,104 +586,85 @@ public class HomeController {
         }
     }
 
+    /**
+     * Reloads the expense trend for the selected range and granularity on a background thread.
+     * The series is downsampled to the chart's width before it is drawn, so ten years of daily data
+     * plot as fast as twelve months. The full series is kept for applying later changes in memory.
+     */
     public void updateExpenseTrends() {
-        try {
-            monthlyExpenses.clear();
-
-            List<TransactionBean> transactions = transactionDatabase.getAllTransactions();
-            List<ScheduledTransactionBean> scheduledTransactions = transactionDatabase.getAllScheduledTransactions();
-
-            LocalDate today = LocalDate.now();
-            int currentYear = today.getYear();
-            int currentMonth = today.getMonthValue();
-            int currentDay = today.getDayOfMonth();
-
-            // Determine earliest month from transactions
-            int earliestMonth = 13;
-            int earliestYear = currentYear;
-            for (TransactionBean t : transactions) {
-                LocalDate d = t.getTransactionDate();
-                int ty = d.getYear();
-                int tm = d.getMonthValue();
-
-                if (ty < earliestYear) {
-                    earliestYear = ty;
-                    earliestMonth = tm;
-                } else if (ty == earliestYear && tm < earliestMonth) {
-                    earliestMonth = tm;
-                }
-            }
-
-            if (transactions.isEmpty() || earliestMonth == 13) {
-                System.err.println("Impossible to parse earliest month from transactions. Please add some transactions first.");
-                return; 
-            }
-
-            // Initialize monthlyExpenses for all months of the year
-            for (int month = 1; month <= 12; month++) {
-                monthlyExpenses.put(month, 0.0);
-            }
-
-            // Process regular transactions for the current year starting from earliestMonth
-            for (TransactionBean transaction : transactions) {
-                LocalDate transactionDate = transaction.getTransactionDate();
-                int transactionMonth = transactionDate.getMonthValue();
-                int transactionYear = transactionDate.getYear();
+        if (snapshot == null) {
+            return; // Still loading
+        }
 
-                if (transactionYear == earliestYear && transactionMonth >= earliestMonth && transactionYear == currentYear) {
-                    double amount = transaction.getPaymentAmount() - transaction.getDepositAmount();
-                    monthlyExpenses.merge(transactionMonth, amount, Double::sum);
-                }
+        LocalDate today = LocalDate.now();
+        TrendRange range = trendRangeComboBox.getValue();
+        Granularity granularity = trendGranularityComboBox.getValue();
+        LocalDate from = range.from(today, snapshot.getEarliestMonth());
+        LocalDate to = range.to(today);
+        int maxPoints = lineChart.getWidth() > 0 ? (int) lineChart.getWidth() : DEFAULT_TREND_POINTS;
+
+        // Only the latest request is drawn; an earlier one may finish after it
+        long generation = ++trendGeneration;
+        trendSeries = null;
+        DataService.load(() -> {
+            TimeSeries series = transactionDatabase.getNetExpenseSeries(granularity, from, to);
+            return new LoadedTrend(series, series.downsample(maxPoints));
+        }, loaded -> {
+            if (generation == trendGeneration) {
+                trendSeries = loaded.series();
+                trendFrom = from;
+                trendTo = to;
+                trendMaxPoints = maxPoints;
+                drawExpenseTrend(loaded.drawn());
             }
+        });
+    }
 
-            // Process scheduled transactions
-            int scheduledStartMonth = Math.max(currentMonth, earliestMonth);
-            for (ScheduledTransactionBean scheduledTransaction : scheduledTransactions) {
-                int dueDate = scheduledTransaction.getDueDate();
-                if (dueDate > 31) continue;
+    /**
+     * A trend as loaded and the downsampled series drawn from it, which is the same one if it was short enough.
+     */
+    private record LoadedTrend(TimeSeries series, TimeSeries drawn) {
+    }
 
-                double paymentAmount = scheduledTransaction.getPaymentAmount();
+    private void drawExpenseTrend(TimeSeries series) {
+        Granularity granularity = series.getGranularity();
+        XYChart.Series<Number, Number> chartSeries = new XYChart.Series<>();
+        chartSeries.setName("Expense Trends");
+        for (int i = 0; i < series.size(); i++) {
+            chartSeries.getData().add(new XYChart.Data<>(series.getEpochDay(i), Money.toDollars(series.getCents(i))));
+        }
 
-                for (int month = scheduledStartMonth; month <= 12; month++) {
-                    if (month == currentMonth) {
-                        if (dueDate <= currentDay) {
-                            monthlyExpenses.merge(month, paymentAmount, Double::sum);
-                        }
-                    } else {
-                        monthlyExpenses.merge(month, paymentAmount, Double::sum);
-                    }
-                }
+        trendAxis.setTickLabelFormatter(new StringConverter<>() {
+            @Override
+            public String toString(Number epochDay) {
+                return granularity.label(granularity.bucketStart(LocalDate.ofEpochDay(epochDay.longValue())));
             }
 
-            XYChart.Series<String, Number> series = new XYChart.Series<>();
-            series.setName("Expense Trends");
-
-            for (int month = 1; month <= 12; month++) {
-                double totalForMonth = monthlyExpenses.getOrDefault(month, 0.0);
-                final int finalMonth = month;
-                XYChart.Data<String, Number> dataPoint = new XYChart.Data<>(getMonthName(finalMonth), totalForMonth);
-                series.getData().add(dataPoint);
+            @Override
+            public Number fromString(String label) {
+                LocalDate bucketStart = granularity.parseLabel(label);
+                return bucketStart == null ? null : bucketStart.toEpochDay();
             }
+        });
 
-            lineChart.getData().clear();
-            lineChart.getData().add(series);
-
-            // Update data point selection listener
-            addLineChartDataPointHandlers();
+        // A symbol node per point is what makes long series slow, so only short ones get clickable points
+        boolean clickable = series.size() <= MAX_CLICKABLE_TREND_POINTS;
+        lineChart.setCreateSymbols(clickable);
+        lineChart.getData().clear();
+        lineChart.getData().add(chartSeries);
+        trendChartSeries = chartSeries;
+        lineChartDataLabel.setVisible(false);
+        selectedLineDataPoint = null;
 
-        } catch (Exception e) {
-            e.printStackTrace();
+        if (clickable) {
+            addLineChartDataPointHandlers(granularity);
         }
     }
 
-    private String getMonthName(int month) {
-        return java.time.Month.of(month).getDisplayName(TextStyle.SHORT, Locale.ENGLISH);
-    }
-
-    private void addLineChartDataPointHandlers() {
+    private void addLineChartDataPointHandlers(Granularity granularity) {
         Platform.runLater(() -> {
-            for (XYChart.Series<String, Number> series : lineChart.getData()) {
-                for (XYChart.Data<String, Number> data : series.getData()) {
+            for (XYChart.Series<Number, Number> series : lineChart.getData()) {
+                for (XYChart.Data<Number, Number> data : series.getData()) {
                     Node node = data.getNode();
                     node.setOnMouseClicked(event -> {
                         if (selectedLineDataPoint != null && selectedLineDataPoint == data) {
@@ -347,7 +675,8 @@ public class HomeController {
                             // Show label at mouse position
                             selectedLineDataPoint = data;
                             Number amount = data.getYValue();
-                            lineChartDataLabel.setText("Amount: $" + String.format("%.2f", amount.doubleValue()));
+                            String bucket = granularity.label(LocalDate.ofEpochDay(data.getXValue().longValue()));
+                            lineChartDataLabel.setText(bucket + ": $" + String.format("%.2f", amount.doubleValue()));
                             positionLabelAtCursor(lineChartDataLabel, event);
                             lineChartDataLabel.setVisible(true);
                         }
@@ -357,20 +686,33 @@ public class HomeController {
         });
     }
 
+    /**
+     * Updates the bar of one transaction type to its current amount, or redraws the bars if it has none yet.
+     */
+    private void updateBarAmount(String type) {
+        if (!barChart.getData().isEmpty()) {
+            for (XYChart.Data<String, Number> dataPoint : barChart.getData().get(0).getData()) {
+                if (dataPoint.getXValue().equals(type)) {
+                    dataPoint.setYValue(Money.toDollars(transactionTypeAmounts.getOrDefault(type, 0L)));
+                    return;
+                }
+            }
+        }
+        loadBarChartData();
+    }
+
     private void loadBarChartData() {
         barChart.getData().clear();
 
-        var transactionTypes = transactionDatabase.getAllTransactionTypes();
-
         if (transactionTypes.isEmpty()) {
             return;
         }
 
         XYChart.Series<String, Number> series = new XYChart.Series<>();
-        var dataMap = transactionDatabase.getTransactionTypeAmounts();
+        var dataMap = transactionTypeAmounts;
 
         for (String type : transactionTypes) {
-            double amount = dataMap.getOrDefault(type, 0.0);
+            double amount = Money.toDollars(dataMap.getOrDefault(type, 0L));
             XYChart.Data<String, Number> dataPoint = new XYChart.Data<>(type, amount);
             series.getData().add(dataPoint);
 
@@ -396,6 +738,22 @@ public class HomeController {
         barChart.getData().add(series);
     }
 
+    /**
+     * Reloads the dashboard if the month rolled over while another page was shown. Changes made meanwhile
+     * have already been applied as deltas.
+     */
+    @Override
+    public void onShow() {
+        if (snapshot != null && !loading && !snapshot.getCurrentMonth().equals(YearMonth.now())) {
+            refreshDashboard();
+        }
+    }
+
+    @Override
+    public void onHide() {
+        clearTemporaryLabels();
+    }
+
     /**
      * Clears temporary labels or data, such as the small table point displays
      * when navigating to a new page.
@@ -418,13 +776,16 @@ public class HomeController {
         pieChartDataLabel.setVisible(false);
     }
 
-    // Methods to handle Quick Access button actions
+    // Methods to handle Quick Access button actions; the forms belong to the cached Accounts and
+    // Transactions pages, which are loaded here if they have not been visited yet
 
     @FXML
     private void handleAddAccount() {
+        AccountController accountController = MainController.getInstance()
+                .getPageController(MainController.ACCOUNTS_PAGE, AccountController.class);
         if (accountController != null) {
+            // The account count is refreshed by its change event listener
             accountController.showAccountPopup();
-            accountController.getPopupStage().setOnHidden(event -> updateSummaryLabels());
         } else {
             System.err.println("AccountController is not initialized");
         }
@@ -432,14 +793,10 @@ public class HomeController {
 
     @FXML
     private void handleAddTransaction() {
+        TransactionController transactionController = transactionController();
         if (transactionController != null) {
+            // The dashboard picks up the new transaction through its change event listener
             transactionController.handleAddTransaction();
-            transactionController.getPopupStage().setOnHidden(event -> {
-                updateSummaryLabels();
-                updatePieChartData();
-                updateExpenseTrends();
-                loadBarChartData();
-            });
         } else {
             System.err.println("TransactionController is not initialized");
         }
@@ -447,18 +804,18 @@ public class HomeController {
 
     @FXML
     private void handleAddScheduledTransaction() {
+        TransactionController transactionController = transactionController();
         if (transactionController != null) {
             transactionController.handleAddScheduledTransaction();
-            transactionController.getPopupStage().setOnHidden(event -> {
-                updateSummaryLabels();
-                updateExpenseTrends();
-                loadBarChartData();
-            });
         } else {
             System.err.println("TransactionController is not initialized");
         }
     }
 
+    private TransactionController transactionController() {
+        return MainController.getInstance().getPageController(MainController.TRANSACTIONS_PAGE, TransactionController.class);
+    }
+
     /**
      * Positions a given label at the mouse event location exactly at the cursor.
      */
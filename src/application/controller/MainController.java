@@ -1,28 +1,64 @@
 package application.controller;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
 import javafx.scene.control.Alert;
 import javafx.scene.layout.AnchorPane;
 
+/**
+ * Hosts the navigation bar and swaps pages into the main area. Each page is loaded from FXML once and
+ * kept with its controller, so switching pages only swaps nodes; controllers implementing {@link Page}
+ * are told when they are shown and hidden so they can refresh data that changed meanwhile. After
+ * startup the other pages are loaded one per FX pulse, so the first visit to each is instant too.
+ */
 public class MainController {
 
+    // System property that turns off loading the other pages after startup; they then load on first visit
+    public static final String PRELOAD_PROPERTY = "clevercash.ui.preloadPages";
+
+    public static final String HOME_PAGE = "/view/Home.fxml";
+    public static final String ACCOUNTS_PAGE = "/view/Accounts.fxml";
+    public static final String TRANSACTION_TYPES_PAGE = "/view/TransactionType.fxml";
+    public static final String TRANSACTIONS_PAGE = "/view/Transactions.fxml";
+    public static final String REPORTS_PAGE = "/view/Reports.fxml";
+    public static final String SETTINGS_PAGE = "/view/Settings.fxml";
+
+    private static final List<String> PRELOADED_PAGES =
+            List.of(TRANSACTIONS_PAGE, ACCOUNTS_PAGE, REPORTS_PAGE, TRANSACTION_TYPES_PAGE);
+
     @FXML
     private AnchorPane mainRoot;
 
     @FXML
     private AnchorPane mainBox;
 
-    private Object currentController; // Keep track of the current controller
+    /**
+     * A page's root node and controller, loaded once.
+     */
+    private record LoadedPage(Parent root, Object controller) {
+    }
+
+    private final Map<String, LoadedPage> pages = new HashMap<>();
+    private LoadedPage currentPage;
     private static MainController instance; // Static instance of MainController
-    private HomeController homeController; // Reference to HomeController
 
     @FXML
     public void initialize() {
         instance = this; // Set static instance
         showHomePage(); // Load the home page by default
+
+        if (Boolean.parseBoolean(System.getProperty(PRELOAD_PROPERTY, "true"))) {
+            // Runs once the stage is up; each page gets its own pulse so input is handled in between
+            Iterator<String> remaining = PRELOADED_PAGES.iterator();
+            Platform.runLater(() -> preloadPages(remaining));
+        }
     }
 
     public static MainController getInstance() {
@@ -30,7 +66,20 @@ public class MainController {
     }
 
     public HomeController getHomeController() {
-        return homeController;
+        return getPageController(HOME_PAGE, HomeController.class);
+    }
+
+    /**
+     * Returns the controller of a page, loading the page if it has not been loaded yet. The page is not shown.
+     *
+     * @param fxmlPath the page's FXML resource.
+     * @param type     the controller class.
+     * @param <T>      the controller type.
+     * @return the controller, or null if the page failed to load.
+     */
+    public <T> T getPageController(String fxmlPath, Class<T> type) {
+        LoadedPage page = getPage(fxmlPath);
+        return page == null ? null : type.cast(page.controller());
     }
 
     @FXML
@@ -40,60 +89,83 @@ public class MainController {
 
     @FXML
     public void showHomePage() {
-        loadPage("/view/Home.fxml");
+        loadPage(HOME_PAGE);
     }
 
     @FXML
     public void showAccountPage() {
-        loadPage("/view/Accounts.fxml");
+        loadPage(ACCOUNTS_PAGE);
     }
 
     @FXML
     public void showTransactionTypePage() {
-        loadPage("/view/TransactionType.fxml");
+        loadPage(TRANSACTION_TYPES_PAGE);
     }
 
     @FXML
     public void showTransactionPage() {
-        loadPage("/view/Transactions.fxml");
+        loadPage(TRANSACTIONS_PAGE);
     }
 
     @FXML
     public void showReportPage() {
-        loadPage("/view/Reports.fxml");
+        loadPage(REPORTS_PAGE);
     }
 
     @FXML
     public void showSettingPage() {
-        loadPage("/view/Settings.fxml");
+        loadPage(SETTINGS_PAGE);
     }
 
     private void loadPage(String fxmlPath) {
-        try {
-            // Clear temporary labels if the current controller has them
-            if (currentController instanceof HomeController) {
-                ((HomeController) currentController).clearTemporaryLabels();
-            }
+        LoadedPage page = getPage(fxmlPath);
+        if (page == null || page == currentPage) {
+            return;
+        }
 
-            // Load the new page
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-            AnchorPane page = loader.load();
+        if (currentPage != null && currentPage.controller() instanceof Page hidden) {
+            hidden.onHide();
+        }
+
+        // Set the new page in the mainBox
+        mainBox.getChildren().clear();
+        mainBox.getChildren().add(page.root());
+        currentPage = page;
 
-            // Update the current controller reference
-            currentController = loader.getController();
+        if (page.controller() instanceof Page shown) {
+            shown.onShow();
+        }
+    }
 
-            // If the loaded controller is HomeController, store the reference
-            if (currentController instanceof HomeController) {
-                homeController = (HomeController) currentController;
-            }
+    private LoadedPage getPage(String fxmlPath) {
+        LoadedPage page = pages.get(fxmlPath);
+        if (page != null) {
+            return page;
+        }
 
-            // Set the new page in the mainBox
-            mainBox.getChildren().clear();
-            mainBox.getChildren().add(page);
-        } catch (IOException e) {
+        try {
+            FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
+            Parent root = loader.load();
+            page = new LoadedPage(root, loader.getController());
+        } catch (IOException | IllegalStateException e) {
+            // IllegalStateException: the FXML resource does not exist
             e.printStackTrace();
             showAlert("Error", "Failed to load the page.", e.getMessage());
+            return null;
+        }
+        pages.put(fxmlPath, page);
+        return page;
+    }
+
+    private void preloadPages(Iterator<String> remaining) {
+        if (!remaining.hasNext()) {
+            return;
+        }
+        String fxmlPath = remaining.next();
+        if (!pages.containsKey(fxmlPath)) {
+            getPage(fxmlPath);
         }
+        Platform.runLater(() -> preloadPages(remaining));
     }
 
     private void showAlert(String title, String header, String content) {
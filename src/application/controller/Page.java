@@ -0,0 +1,21 @@
+package application.controller;
+
+/**
+ * Lifecycle of a page kept alive by {@link MainController}'s page cache. A cached page keeps its
+ * controller and scene graph between visits, so instead of reloading on every visit it refreshes only
+ * the data that changed while it was hidden, typically with a {@link StaleTracker}.
+ */
+public interface Page {
+
+    /**
+     * Called on the FX thread each time the page is put on screen, including the first time.
+     */
+    default void onShow() {
+    }
+
+    /**
+     * Called on the FX thread when another page replaces this one.
+     */
+    default void onHide() {
+    }
+}
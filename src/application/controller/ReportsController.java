@@ -2,9 +2,15 @@ package application.controller;
 
 import application.database.AccountDatabase;
 import application.database.TransactionDatabase;
+import application.model.Money;
 import application.model.TransactionBean;
+import application.services.AccountChangeEvent;
+import application.services.DataService;
+import application.services.TransactionBatchAddedEvent;
+import application.services.TransactionsImportedEvent;
+import application.services.TransactionChangeEvent;
+import application.services.TransactionTypeChangeEvent;
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
@@ -16,7 +22,7 @@ import javafx.stage.Stage;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
-public class ReportsController {
+public class ReportsController implements Page {
 
     @FXML
     private ComboBox<String> accountComboBox;
@@ -65,6 +71,14 @@ public class ReportsController {
 
     private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MMM dd, yyyy");
 
+    // Reload the lists and the selected reports if accounts, transactions or types changed while this page was hidden
+    private final StaleTracker staleReports = new StaleTracker(this::reloadReports)
+            .refreshOn(AccountChangeEvent.class)
+            .refreshOn(TransactionChangeEvent.class)
+            .refreshOn(TransactionBatchAddedEvent.class)
+            .refreshOn(TransactionsImportedEvent.class)
+            .refreshOn(TransactionTypeChangeEvent.class);
+
     /**
      * Initializes the controller class. This method is automatically called
      * after the FXML file has been loaded.
@@ -90,6 +104,22 @@ public class ReportsController {
         addSingleClickEvent(typeTransactionsTable, this::showTransactionDetailsPopup);
     }
 
+    @Override
+    public void onShow() {
+        staleReports.show();
+    }
+
+    @Override
+    public void onHide() {
+        staleReports.hide();
+    }
+
+    private void reloadReports() {
+        populateComboBoxes();
+        loadAccountTransactions(accountComboBox.getValue());
+        loadTypeTransactions(transactionTypeComboBox.getValue());
+    }
+
     /**
      * Method to apply font scaling to a TableView.
      */
@@ -102,20 +132,14 @@ public class ReportsController {
      */
     private void populateComboBoxes() {
         // Populate Account ComboBox
-        ObservableList<String> accountNames = FXCollections.observableArrayList(
-                accountDatabase.getAllAccounts().stream()
-                        .map(account -> account.getName())
-                        .toList()
-        );
-        accountComboBox.setItems(accountNames);
         accountComboBox.setPromptText("Select Account");
         accountComboBox.setStyle("-fx-font-size: 16px;");
+        DataService.load(accountDatabase::getAccountNames, accountComboBox::setItems);
 
         // Populate Transaction Type ComboBox
-        ObservableList<String> transactionTypes = transactionDatabase.getAllTransactionTypes();
-        transactionTypeComboBox.setItems(transactionTypes);
         transactionTypeComboBox.setPromptText("Select Transaction Type");
         transactionTypeComboBox.setStyle("-fx-font-size: 16px;");
+        DataService.load(transactionDatabase::getAllTransactionTypes, transactionTypeComboBox::setItems);
     }
 
     /**
@@ -239,16 +263,15 @@ public class ReportsController {
             return;
         }
 
-        // Fetch all transactions for the selected account
-        ObservableList<TransactionBean> allTransactions = transactionDatabase.getAllTransactions();
-        ObservableList<TransactionBean> filteredTransactions = FXCollections.observableArrayList(
-                allTransactions.stream()
-                        .filter(transaction -> transaction.getAccount().equals(accountName))
-                        .sorted((t1, t2) -> t2.getTransactionDate().compareTo(t1.getTransactionDate()))
-                        .toList()
-        );
-
-        accountTransactionsTable.setItems(filteredTransactions);
+        // Fetch only the selected account's transactions, newest first, ignoring results for an old selection
+        accountTransactionsTable.setPlaceholder(new Label("Loading..."));
+        DataService.load(() -> transactionDatabase.getTransactionsByAccount(accountName, null, null), transactions -> {
+            // Names are interned by SymbolTable, so identity tells whether the selection is unchanged
+            if (accountName == accountComboBox.getValue()) {
+                accountTransactionsTable.setItems(transactions);
+                accountTransactionsTable.setPlaceholder(new Label("No content in table"));
+            }
+        });
     }
 
     /**
@@ -262,16 +285,14 @@ public class ReportsController {
             return;
         }
 
-        // Fetch all transactions for the selected transaction type
-        ObservableList<TransactionBean> allTransactions = transactionDatabase.getAllTransactions();
-        ObservableList<TransactionBean> filteredTransactions = FXCollections.observableArrayList(
-                allTransactions.stream()
-                        .filter(transaction -> transaction.getTransactionType().equals(transactionType))
-                        .sorted((t1, t2) -> t2.getTransactionDate().compareTo(t1.getTransactionDate()))
-                        .toList()
-        );
-
-        typeTransactionsTable.setItems(filteredTransactions);
+        // Fetch only the transactions of the selected type, newest first, ignoring results for an old selection
+        typeTransactionsTable.setPlaceholder(new Label("Loading..."));
+        DataService.load(() -> transactionDatabase.getTransactionsByType(transactionType, null, null), transactions -> {
+            if (transactionType == transactionTypeComboBox.getValue()) {
+                typeTransactionsTable.setItems(transactions);
+                typeTransactionsTable.setPlaceholder(new Label("No content in table"));
+            }
+        });
     }
 
     /**
@@ -341,14 +362,14 @@ public class ReportsController {
         Label paymentLabel = new Label("Payment Amount:");
         paymentLabel.getStyleClass().add("popup-label");
         TextField paymentField = new TextField(
-                transaction.getPaymentAmount() == null ? "" : String.format("%.2f", transaction.getPaymentAmount()));
+                transaction.getPaymentCents() == 0 ? "" : Money.toPlainString(transaction.getPaymentCents()));
         paymentField.setEditable(false);
         paymentField.getStyleClass().add("popup-text-field");
 
         Label depositLabel = new Label("Deposit Amount:");
         depositLabel.getStyleClass().add("popup-label");
         TextField depositField = new TextField(
-                transaction.getDepositAmount() == null ? "" : String.format("%.2f", transaction.getDepositAmount()));
+                transaction.getDepositCents() == 0 ? "" : Money.toPlainString(transaction.getDepositCents()));
         depositField.setEditable(false);
         depositField.getStyleClass().add("popup-text-field");
 
@@ -0,0 +1,55 @@
+package application.controller;
+
+import application.services.DataService;
+import application.services.EventBus;
+
+/**
+ * Remembers whether data shown by a cached {@link Page} changed while the page was hidden, and refreshes
+ * it once when the page is shown again. Change events only mark the data stale while the page is hidden;
+ * a visible page already refreshes itself after its own edits.
+ */
+final class StaleTracker {
+
+    private final Runnable refresh;
+
+    // Only touched on the FX thread
+    private boolean showing;
+    private boolean stale;
+
+    /**
+     * @param refresh reloads the data, called on the FX thread.
+     */
+    StaleTracker(Runnable refresh) {
+        this.refresh = refresh;
+    }
+
+    /**
+     * Marks the data stale whenever an event of the given type is published while the page is hidden.
+     *
+     * @param eventType the event class that changes the data.
+     * @return this tracker, for chaining.
+     */
+    StaleTracker refreshOn(Class<?> eventType) {
+        // Cached pages live as long as the application, so the subscription is never cancelled
+        EventBus.subscribe(eventType, event -> DataService.runOnFxThread(this::markStale));
+        return this;
+    }
+
+    private void markStale() {
+        if (!showing) {
+            stale = true;
+        }
+    }
+
+    void show() {
+        showing = true;
+        if (stale) {
+            stale = false;
+            refresh.run();
+        }
+    }
+
+    void hide() {
+        showing = false;
+    }
+}
@@ -2,9 +2,20 @@ package application.controller;
 
 import application.database.TransactionDatabase;
 import application.database.AccountDatabase;
+import application.database.TransactionPageSource;
 import application.model.TransactionBean;
-import application.model.AccountBean;
 import application.model.ScheduledTransactionBean;
+import application.model.Money;
+import application.services.AccountChangeEvent;
+import application.services.DataService;
+import application.services.ScheduleMaterializer;
+import application.services.ScheduledTransactionChangeEvent;
+import application.services.SearchPipeline;
+import application.services.TransactionBatchAddedEvent;
+import application.services.TransactionsImportedEvent;
+import application.services.TransactionChangeEvent;
+import application.services.TransactionImporter;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -12,6 +23,7 @@ import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.scene.Scene;
@@ -21,18 +33,27 @@ import javafx.scene.layout.VBox;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 
+import java.io.File;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.function.Consumer;
 import java.sql.SQLException;
+import java.util.concurrent.CompletionException;
 import javafx.scene.Node;
 
-public class TransactionController {
+public class TransactionController implements Page {
 
     private final TransactionDatabase transactionDatabase = new TransactionDatabase();
     private final AccountDatabase accountDatabase = new AccountDatabase();
     private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MMM dd, yyyy");
 
+    // Most matches shown for a description search; results are ranked, so the best ones come first
+    private static final int SEARCH_RESULT_LIMIT = 500;
+
+    // Typing must pause this long before a search query starts
+    private static final long SEARCH_DEBOUNCE_MILLIS = 200;
+
     @FXML
     private TableView<TransactionBean> transactionTableView;
     @FXML
@@ -48,6 +69,8 @@ public class TransactionController {
     @FXML
     private TableColumn<TransactionBean, Double> depositAmountCol;
     @FXML
+    private TableColumn<TransactionBean, Long> balanceCol;
+    @FXML
     private TableColumn<TransactionBean, Void> deleteTransactionCol;
 
     @FXML
@@ -71,13 +94,32 @@ public class TransactionController {
     private Button addTransactionButton;
     @FXML
     private Button addScheduledTransactionButton;
+    @FXML
+    private Button importTransactionsButton;
 
     @FXML
     private TextField searchTransactionField;
     @FXML
     private TextField searchScheduledTransactionField;
 
-    private HomeController homeController;
+    // Debounced searches for the two search fields
+    private final SearchPipeline<ObservableList<TransactionBean>> transactionSearch = new SearchPipeline<>(
+            "transactions", SEARCH_DEBOUNCE_MILLIS,
+            (text, cancellation) -> transactionDatabase.searchTransactions(text, SEARCH_RESULT_LIMIT, cancellation),
+            results -> showSearchResults(transactionTableView, results));
+    private final SearchPipeline<ObservableList<ScheduledTransactionBean>> scheduledTransactionSearch = new SearchPipeline<>(
+            "scheduled transactions", SEARCH_DEBOUNCE_MILLIS,
+            transactionDatabase::searchScheduledTransactions,
+            results -> showSearchResults(scheduledTransactionTableView, results));
+
+    // Reload what was changed elsewhere, e.g. from the Home page or by posted schedules, while this page was hidden
+    private final StaleTracker staleTransactions = new StaleTracker(this::reloadTransactions)
+            .refreshOn(TransactionChangeEvent.class)
+            .refreshOn(TransactionBatchAddedEvent.class)
+            .refreshOn(TransactionsImportedEvent.class)
+            .refreshOn(AccountChangeEvent.class);
+    private final StaleTracker staleScheduledTransactions = new StaleTracker(this::reloadScheduledTransactions)
+            .refreshOn(ScheduledTransactionChangeEvent.class);
 
     // Variable to hold the pop-up Stage
     private Stage popupStage;
@@ -93,9 +135,6 @@ public class TransactionController {
         refreshTransactionTableData();
         refreshScheduledTransactionTableData();
 
-        // Obtain reference to HomeController via MainController
-        homeController = MainController.getInstance().getHomeController();
-
         // Apply font scaling adjustments to the table cells
         applyFontScaling(transactionTableView);
         applyFontScaling(scheduledTransactionTableView);
@@ -104,7 +143,7 @@ public class TransactionController {
         addDoubleClickEvent(transactionTableView, this::handleEditTransaction);
         addDoubleClickEvent(scheduledTransactionTableView, this::handleEditScheduledTransaction);
 
-        // Add listeners to search fields
+        // Add listeners to search fields; searches are debounced and run off the FX thread
         searchTransactionField.textProperty().addListener((observable, oldValue, newValue) -> {
             filterTransactions(newValue);
         });
@@ -114,6 +153,18 @@ public class TransactionController {
         });
     }
 
+    @Override
+    public void onShow() {
+        staleTransactions.show();
+        staleScheduledTransactions.show();
+    }
+
+    @Override
+    public void onHide() {
+        staleTransactions.hide();
+        staleScheduledTransactions.hide();
+    }
+
     // Method to apply font scaling to a TableView
     private void applyFontScaling(TableView<?> tableView) {
         tableView.setStyle("-fx-font-size: 16px;");
@@ -124,7 +175,9 @@ public class TransactionController {
         transactionTypeCol.setCellValueFactory(new PropertyValueFactory<>("transactionType"));
         transactionDescriptionCol.setCellValueFactory(new PropertyValueFactory<>("transactionDescription"));
 
-        transactionDateCol.setCellValueFactory(new PropertyValueFactory<>("transactionDate"));
+        // Rows whose page is still loading have no date to show
+        transactionDateCol.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(
+                cell.getValue() == TransactionPageSource.LOADING ? null : cell.getValue().getTransactionDate()));
         transactionDateCol.setCellFactory(column -> createDateCell());
 
         paymentAmountCol.setCellValueFactory(new PropertyValueFactory<>("paymentAmount"));
@@ -133,16 +186,24 @@ public class TransactionController {
         depositAmountCol.setCellValueFactory(new PropertyValueFactory<>("depositAmount"));
         depositAmountCol.setCellFactory(column -> createAmountCell());
 
+        // Running balance of the row's account, filled in as each page loads
+        balanceCol.setCellValueFactory(new PropertyValueFactory<>("balanceCents"));
+        balanceCol.setCellFactory(column -> createBalanceCell());
+
+        // The paged source is read-only and already ordered newest first, so only search results can be re-sorted
+        transactionTableView.setSortPolicy(table ->
+                !(table.getItems() instanceof TransactionPageSource) && TableView.DEFAULT_SORT_POLICY.call(table));
+
         // Add delete icon to each row in Transaction Table
         deleteTransactionCol.setCellFactory(col -> createDeleteButtonCell(
             (TransactionBean transaction) -> {
+                if (transaction == TransactionPageSource.LOADING) {
+                    return;
+                }
                 if (showConfirmation("Confirm Deletion", "Are you sure you want to delete this transaction?")) {
                     transactionDatabase.deleteTransaction(transaction);
                     refreshTransactionTableData();
                     showAlert("Success", "Transaction deleted successfully!");
-
-                    // Notify HomeController to update expense trends
-                    notifyHomeController();
                 }
             }
         ));
@@ -165,9 +226,6 @@ public class TransactionController {
                     transactionDatabase.deleteScheduledTransaction(scheduledTransaction);
                     refreshScheduledTransactionTableData();
                     showAlert("Success", "Scheduled transaction deleted successfully!");
-
-                    // Notify HomeController to update expense trends
-                    notifyHomeController();
                 }
             }
         ));
@@ -185,6 +243,85 @@ public class TransactionController {
         showScheduledTransactionForm(null); // null indicates new scheduled transaction
     }
 
+    @FXML
+    public void handleImportTransactions() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Import Transactions");
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Bank exports (*.csv, *.ofx, *.qfx)", "*.csv", "*.ofx", "*.qfx"),
+                new FileChooser.ExtensionFilter("All files", "*.*"));
+        File file = fileChooser.showOpenDialog(addTransactionButton.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        popupStage = new Stage();
+        popupStage.initModality(Modality.APPLICATION_MODAL);
+        popupStage.setTitle("Import Transactions");
+
+        VBox form = createImportForm(popupStage, file);
+        Scene popupScene = new Scene(form, 500, 300);
+        popupScene.getStylesheets().add(getClass().getResource("/css/transaction.css").toExternalForm());
+
+        popupStage.setScene(popupScene);
+        popupStage.show();
+    }
+
+    private VBox createImportForm(Stage popupStage, File file) {
+        GridPane grid = createFormGrid();
+
+        ComboBox<String> accountComboBox = createComboBox(getAccountNames());
+        ComboBox<String> transactionTypeComboBox = createComboBox(transactionDatabase.getAllTransactionTypes());
+        Label progressLabel = new Label(file.getName());
+
+        // Used for rows that do not name an account or type, and for every OFX transaction
+        addFormRow(grid, 0, "Default Account:", accountComboBox);
+        addFormRow(grid, 1, "Default Type:", transactionTypeComboBox);
+        addFormRow(grid, 2, "Progress:", progressLabel);
+
+        Button importButton = createButton("Import", null);
+        Button cancelButton = createButton("Cancel", e -> popupStage.close());
+        importButton.setOnAction(e -> {
+            importButton.setDisable(true);
+            cancelButton.setDisable(true);
+            TransactionImporter importer = new TransactionImporter(transactionDatabase,
+                    accountComboBox.getValue(), transactionTypeComboBox.getValue());
+
+            DataService.supply(() -> {
+                try {
+                    return importer.importFile(file.toPath(), progress ->
+                            DataService.runOnFxThread(() -> progressLabel.setText(progress.toString())));
+                } catch (IOException | SQLException ex) {
+                    throw new CompletionException(ex);
+                }
+            }).whenComplete((result, error) -> DataService.runOnFxThread(() -> {
+                popupStage.close();
+                refreshTransactionTableData();
+                if (error != null) {
+                    System.err.println("Transaction import failed.");
+                    error.printStackTrace();
+                    showAlert("Error", "Import failed: " + error.getCause().getMessage());
+                    return;
+                }
+                StringBuilder message = new StringBuilder(String.format(
+                        "Imported %d transactions (%d rejected) in %.1f seconds.",
+                        result.progress().rowsImported(), result.progress().rowsRejected(),
+                        result.progress().elapsedNanos() / 1_000_000_000.0));
+                for (String rejected : result.errors().subList(0, Math.min(10, result.errors().size()))) {
+                    message.append("\n").append(rejected);
+                }
+                showAlert("Import Complete", message.toString());
+            }));
+        });
+
+        HBox buttonBox = new HBox(10, importButton, cancelButton);
+        buttonBox.setAlignment(Pos.CENTER);
+
+        VBox vbox = new VBox(15, grid, buttonBox);
+        vbox.setPadding(new Insets(10));
+        return vbox;
+    }
+
     private void showTransactionForm(TransactionBean transaction) {
         popupStage.initModality(Modality.APPLICATION_MODAL);
         popupStage.setTitle(transaction == null ? "Add Transaction" : "Edit Transaction");
@@ -229,8 +366,8 @@ public class TransactionController {
             transactionTypeComboBox.setValue(transaction.getTransactionType());
             datePicker.setValue(transaction.getTransactionDate());
             descriptionField.setText(transaction.getTransactionDescription());
-            paymentField.setText(transaction.getPaymentAmount() != null ? transaction.getPaymentAmount().toString() : "");
-            depositField.setText(transaction.getDepositAmount() != null ? transaction.getDepositAmount().toString() : "");
+            paymentField.setText(transaction.getPaymentCents() != 0 ? Money.toPlainString(transaction.getPaymentCents()) : "");
+            depositField.setText(transaction.getDepositCents() != 0 ? Money.toPlainString(transaction.getDepositCents()) : "");
         }
 
         addFormRow(grid, 0, "Account:", accountComboBox);
@@ -249,8 +386,8 @@ public class TransactionController {
                     return;
                 }
 
-                double paymentAmount = paymentField.getText().isEmpty() ? 0.0 : Double.parseDouble(paymentField.getText());
-                double depositAmount = depositField.getText().isEmpty() ? 0.0 : Double.parseDouble(depositField.getText());
+                long paymentAmount = Money.parse(paymentField.getText());
+                long depositAmount = Money.parse(depositField.getText());
 
                 if (transaction == null) {
                     // New transaction
@@ -280,9 +417,6 @@ public class TransactionController {
 
                 refreshTransactionTableData();
                 popupStage.close();
-
-                // Notify HomeController to update expense trends
-                notifyHomeController();
             } catch (NumberFormatException ex) {
                 showAlert("Error", "Please enter valid numeric values for payment and deposit amounts.");
             }
@@ -317,7 +451,7 @@ public class TransactionController {
             transactionTypeComboBox.setValue(scheduledTransaction.getTransactionType());
             frequencyComboBox.setValue(scheduledTransaction.getFrequency());
             dueDateField.setText(Integer.toString(scheduledTransaction.getDueDate()));
-            paymentAmountField.setText(scheduledTransaction.getPaymentAmount().toString());
+            paymentAmountField.setText(Money.toPlainString(scheduledTransaction.getPaymentCents()));
         }
 
         addFormRow(grid, 0, "Schedule Name:", scheduleNameField);
@@ -362,7 +496,7 @@ public class TransactionController {
                 return;
             }
 
-            double paymentAmount = Double.parseDouble(paymentText);
+            long paymentAmount = Money.parse(paymentText);
             ScheduledTransactionBean scheduledTransaction = new ScheduledTransactionBean(scheduleName, account, transactionType, frequency, dueDate, paymentAmount);
 
             try {
@@ -384,11 +518,14 @@ public class TransactionController {
                     transactionDatabase.addScheduledTransaction(scheduledTransaction);
                     showAlert("Success", "Scheduled transaction added successfully!");
                 }
+                // A new schedule may already be due this month
+                ScheduleMaterializer.catchUp().thenAccept(posted -> {
+                    if (posted > 0) {
+                        DataService.runOnFxThread(this::refreshTransactionTableData);
+                    }
+                });
                 refreshScheduledTransactionTableData();
                 popupStage.close();
-
-                // Notify HomeController to update expense trends
-                notifyHomeController();
             } catch (SQLException e) {
                 if (e.getMessage().contains("UNIQUE constraint failed")) {
                     showAlert("Duplicate Schedule Name", "A scheduled transaction with the name '" + scheduledTransaction.getScheduleName() + "' already exists. Please use a unique name.");
@@ -405,7 +542,7 @@ public class TransactionController {
     }
 
     private ObservableList<String> getAccountNames() {
-        return FXCollections.observableArrayList(accountDatabase.getAllAccounts().stream().map(AccountBean::getName).toList());
+        return accountDatabase.getAccountNames();
     }
 
     private boolean showConfirmation(String title, String message) {
@@ -423,16 +560,23 @@ public class TransactionController {
     }
 
     private void refreshTransactionTableData() {
-        transactionTableView.setItems(transactionDatabase.getAllTransactions());
+        // Rows are fetched page by page as the table scrolls; only the row count is loaded here
+        DataService.loadTable(transactionTableView,
+                () -> new TransactionPageSource(transactionDatabase));
     }
 
     private void refreshScheduledTransactionTableData() {
-        ObservableList<ScheduledTransactionBean> scheduledTransactions = transactionDatabase.getAllScheduledTransactions();
-        scheduledTransactions.sort((a, b) -> Integer.compare(a.getDueDate(), b.getDueDate()));
-        scheduledTransactionTableView.setItems(scheduledTransactions);
+        DataService.loadTable(scheduledTransactionTableView, () -> {
+            ObservableList<ScheduledTransactionBean> scheduledTransactions = transactionDatabase.getAllScheduledTransactions();
+            scheduledTransactions.sort((a, b) -> Integer.compare(a.getDueDate(), b.getDueDate()));
+            return scheduledTransactions;
+        });
     }
 
     private void handleEditTransaction(TransactionBean transaction) {
+        if (transaction == TransactionPageSource.LOADING) {
+            return;
+        }
         popupStage = new Stage();
         showTransactionForm(transaction);
     }
@@ -443,38 +587,40 @@ public class TransactionController {
     }
 
     private void filterTransactions(String searchText) {
-        ObservableList<TransactionBean> allTransactions = transactionDatabase.getAllTransactions();
         if (searchText == null || searchText.isEmpty()) {
-            transactionTableView.setItems(allTransactions);
+            transactionSearch.cancel();
+            refreshTransactionTableData();
         } else {
-            ObservableList<TransactionBean> filteredTransactions = FXCollections.observableArrayList();
-            for (TransactionBean transaction : allTransactions) {
-                if (transaction.getTransactionDescription().toLowerCase().contains(searchText.toLowerCase())) {
-                    filteredTransactions.add(transaction);
-                }
-            }
-            transactionTableView.setItems(filteredTransactions);
+            // Ranked full-text search; words match as prefixes, "quoted text" as a phrase
+            transactionSearch.submit(searchText);
         }
     }
 
+    // Reloads the table, or the search results if a search is active
+    private void reloadTransactions() {
+        filterTransactions(searchTransactionField.getText());
+    }
+
+    private void reloadScheduledTransactions() {
+        filterScheduledTransactions(searchScheduledTransactionField.getText());
+    }
+
     private void filterScheduledTransactions(String searchText) {
-        ObservableList<ScheduledTransactionBean> allScheduledTransactions = transactionDatabase.getAllScheduledTransactions();
         if (searchText == null || searchText.isEmpty()) {
             // If search field is empty, refresh and sort the scheduled transactions by due date
+            scheduledTransactionSearch.cancel();
             refreshScheduledTransactionTableData();
         } else {
-            ObservableList<ScheduledTransactionBean> filteredScheduledTransactions = FXCollections.observableArrayList();
-            for (ScheduledTransactionBean scheduledTransaction : allScheduledTransactions) {
-                if (scheduledTransaction.getScheduleName().toLowerCase().contains(searchText.toLowerCase())) {
-                    filteredScheduledTransactions.add(scheduledTransaction);
-                }
-            }
-            // Sort the filtered list by due date ascending
-            filteredScheduledTransactions.sort((a, b) -> Integer.compare(a.getDueDate(), b.getDueDate()));
-            scheduledTransactionTableView.setItems(filteredScheduledTransactions);
+            // Matches names containing the text, sorted by due date in SQL
+            scheduledTransactionSearch.submit(searchText);
         }
     }
 
+    private <T> void showSearchResults(TableView<T> tableView, ObservableList<T> results) {
+        tableView.setItems(results);
+        tableView.setPlaceholder(new Label("No content in table"));
+    }
+
     // Helper methods to reduce code duplication
 
     private <T> void addDoubleClickEvent(TableView<T> tableView, java.util.function.Consumer<T> handler) {
@@ -505,6 +651,21 @@ public class TransactionController {
         };
     }
 
+    private <S> TableCell<S, Long> createBalanceCell() {
+        return new TableCell<S, Long>() {
+            @Override
+            protected void updateItem(Long item, boolean empty) {
+                super.updateItem(item, empty);
+                if (empty || item == null) {
+                    setText(null);
+                } else {
+                    setText(Money.format(item));
+                }
+                setStyle("-fx-font-size: 16px;");
+            }
+        };
+    }
+
     private <S> TableCell<S, Double> createAmountCell() {
         return new TableCell<S, Double>() {
             @Override
@@ -594,13 +755,4 @@ public class TransactionController {
         button.setOnAction(handler);
         return button;
     }
-
-    // Method to notify HomeController to update expense trends
-    private void notifyHomeController() {
-        if (homeController != null) {
-            homeController.updateExpenseTrends();
-            homeController.updatePieChartData();
-            homeController.updateSummaryLabels();
-        }
-    }
 }
@@ -1,6 +1,10 @@
 package application.controller;
 
 import application.database.TransactionDatabase;
+import application.model.Money;
+import application.services.TransactionBatchAddedEvent;
+import application.services.TransactionsImportedEvent;
+import application.services.TransactionChangeEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.TextField;
@@ -22,7 +26,7 @@ import java.util.ResourceBundle;
 import javafx.scene.chart.BarChart;
 import javafx.scene.chart.XYChart;
 
-public class TransactionTypeController implements Initializable {
+public class TransactionTypeController implements Initializable, Page {
 
     @FXML
     Button addTransactionTypeButton;
@@ -32,11 +36,27 @@ public class TransactionTypeController implements Initializable {
     @FXML
     private BarChart<String, Number> transactionTypeBarChart;
 
+    // Amounts per type change with every transaction made elsewhere while this page is hidden
+    private final StaleTracker staleAmounts = new StaleTracker(this::loadBarChartData)
+            .refreshOn(TransactionChangeEvent.class)
+            .refreshOn(TransactionBatchAddedEvent.class)
+            .refreshOn(TransactionsImportedEvent.class);
+
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         loadBarChartData();
     }
 
+    @Override
+    public void onShow() {
+        staleAmounts.show();
+    }
+
+    @Override
+    public void onHide() {
+        staleAmounts.hide();
+    }
+
     private void loadBarChartData() {
         transactionTypeBarChart.getData().clear();
 
@@ -51,7 +71,7 @@ public class TransactionTypeController implements Initializable {
         var dataMap = transactionDatabase.getTransactionTypeAmounts();
 
         for (String type : transactionTypes) {
-            double amount = dataMap.getOrDefault(type, 0.0);
+            double amount = Money.toDollars(dataMap.getOrDefault(type, 0L));
             series.getData().add(new XYChart.Data<>(type, amount));
         }
 
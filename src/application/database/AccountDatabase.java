@@ -1,10 +1,14 @@
 package application.database;
 
 import application.model.AccountBean;
+import application.services.AccountChangeEvent;
+import application.services.EventBus;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import java.sql.*;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The AccountDatabase class handles all interactions with the SQLite database
@@ -12,17 +16,29 @@ import java.time.LocalDate;
  */
 public class AccountDatabase {
 
-	private static final String DB_URL = "jdbc:sqlite:" + System.getProperty("user.dir") + "/database/accounts.db";
+    // Accounts are read by every form and chart but change rarely
+    private static final ReferenceCache<AccountBean> ACCOUNTS = ReferenceCache.create("accounts");
 
+    /**
+     * The schema of the former 'accounts.db', which {@link CleverCashDatabase} applies to an old file
+     * before importing it. The list is frozen; schema changes go to {@link CleverCashDatabase}.
+     */
+    static final List<SchemaManager.Migration> LEGACY_MIGRATIONS = List.of(
+            AccountDatabase::createAccountsTable  // 1
+    );
+
+    /**
+     * Creates a DAO for 'clevercash.db'. The first DAO created in the process brings the schema up to date.
+     */
     public AccountDatabase() {
-        createTableIfNotExists();
+        CleverCashDatabase.migrate();
     }
 
     private Connection connect() throws SQLException {
-        return DriverManager.getConnection(DB_URL);
+        return CleverCashDatabase.connect();
     }
 
-    private void createTableIfNotExists() {
+    static void createAccountsTable(Connection conn) throws SQLException {
         String sql = """
                 CREATE TABLE IF NOT EXISTS accounts (
                     id INTEGER PRIMARY KEY AUTOINCREMENT,
@@ -32,12 +48,8 @@ public class AccountDatabase {
                 );
                 """;
 
-        try (Connection conn = connect();
-             Statement stmt = conn.createStatement()) {
+        try (Statement stmt = conn.createStatement()) {
             stmt.execute(sql);
-        } catch (SQLException e) {
-            System.err.println("Failed to create accounts table.");
-            e.printStackTrace();
         }
     }
 
@@ -57,7 +69,9 @@ public class AccountDatabase {
             pstmt.setDouble(3, account.getOpeningBalance());
 
             pstmt.executeUpdate();
+            ACCOUNTS.invalidate();
             System.out.println("Account added: " + account.getName());
+            EventBus.publish(new AccountChangeEvent(account.getName()));
 
         } catch (SQLException e) {
             System.err.println("Failed to add account: " + account.getName());
@@ -72,15 +86,11 @@ public class AccountDatabase {
      * @return True if the account name exists, false otherwise.
      */
     public boolean accountNameExists(String name) {
-        String sql = "SELECT COUNT(*) FROM accounts WHERE name = ?";
-        try (Connection conn = connect();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, name);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                int count = rs.getInt(1);
-                return count > 0;
+        try {
+            for (AccountBean account : cachedAccounts()) {
+                if (account.getName().equals(name)) {
+                    return true;
+                }
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -94,15 +104,67 @@ public class AccountDatabase {
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, name);
             pstmt.executeUpdate();
+            ACCOUNTS.invalidate();
             System.out.println("Account deleted: " + name);
+            EventBus.publish(new AccountChangeEvent(name));
         } catch (SQLException e) {
             System.err.println("Failed to delete account: " + name);
             e.printStackTrace();
         }
     }
 
+    /**
+     * Counts the accounts without loading them.
+     *
+     * @return the number of accounts.
+     */
+    public int countAccounts() {
+        String sql = "SELECT COUNT(*) FROM accounts";
+        try (Connection conn = connect();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            System.err.println("Failed to count accounts.");
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    /**
+     * Retrieves all accounts, newest opening date first. Served from memory after the first call.
+     *
+     * @return a new list of the accounts, which the caller may modify.
+     */
     public ObservableList<AccountBean> getAllAccounts() {
-        ObservableList<AccountBean> accounts = FXCollections.observableArrayList();
+        try {
+            return FXCollections.observableArrayList(cachedAccounts());
+        } catch (SQLException e) {
+            System.err.println("Failed to retrieve accounts.");
+            e.printStackTrace();
+        }
+        return FXCollections.observableArrayList();
+    }
+
+    /**
+     * Retrieves the names of all accounts, in the same order as {@link #getAllAccounts()}.
+     *
+     * @return a new list of account names.
+     */
+    public ObservableList<String> getAccountNames() {
+        ObservableList<String> names = FXCollections.observableArrayList();
+        for (AccountBean account : getAllAccounts()) {
+            names.add(account.getName());
+        }
+        return names;
+    }
+
+    private List<AccountBean> cachedAccounts() throws SQLException {
+        return ACCOUNTS.get(this::loadAccounts);
+    }
+
+    private List<AccountBean> loadAccounts() throws SQLException {
+        List<AccountBean> accounts = new ArrayList<>();
         String sql = "SELECT * FROM accounts ORDER BY openingDate DESC";
 
         try (Connection conn = connect();
@@ -117,12 +179,7 @@ public class AccountDatabase {
                 );
                 accounts.add(account);
             }
-
-        } catch (SQLException e) {
-            System.err.println("Failed to retrieve accounts.");
-            e.printStackTrace();
         }
-
         return accounts;
     }
 }
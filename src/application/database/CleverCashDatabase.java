@@ -0,0 +1,179 @@
+package application.database;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * CleverCashDatabase is the single SQLite file, 'clevercash.db', holding accounts, transactions and
+ * scheduled transactions, so account-level figures can be computed with joins instead of in Java.
+ * Its schema is applied by {@link SchemaManager}. Accounts and transactions used to live in separate
+ * files, 'accounts.db' and 'transactions.db'; the first start after the change copies them to
+ * 'accounts.db.bak' and 'transactions.db.bak', then migrates and attaches the copies and imports their
+ * rows. The old files are never written.
+ */
+public final class CleverCashDatabase {
+
+    private static final Path DIRECTORY = Path.of(System.getProperty("user.dir"), "database");
+
+    static final String DB_URL = "jdbc:sqlite:" + DIRECTORY.resolve("clevercash.db");
+
+    private static final Path LEGACY_ACCOUNTS = DIRECTORY.resolve("accounts.db");
+    private static final Path LEGACY_TRANSACTIONS = DIRECTORY.resolve("transactions.db");
+
+    /**
+     * The schema of 'clevercash.db'. The old files are imported before the indexes and triggers exist,
+     * so the copied rows are indexed once and the derived tables are built from them in one pass.
+     */
+    private static final List<SchemaManager.Migration> MIGRATIONS = List.of(
+            TransactionDatabase::createTables,                  // 1
+            AccountDatabase::createAccountsTable,               // 2
+            CleverCashDatabase::importLegacyDatabases,          // 3
+            TransactionDatabase::createTransactionIndexes,      // 4
+            TransactionDatabase::createTransactionViews,        // 5
+            TransactionDatabase::createTransactionSearchIndex,  // 6
+            TransactionDatabase::createMonthlyRollups,          // 7
+            TransactionDatabase::createBalanceCheckpoints,      // 8
+            TransactionDatabase::migrateScheduledPostingDates   // 9
+    );
+
+    private CleverCashDatabase() {
+    }
+
+    /**
+     * Brings the schema up to date at startup, before any screen is loaded, so the application
+     * stops instead of reading or writing a database that could not be migrated.
+     *
+     * @throws IllegalStateException if the schema could not be brought up to date.
+     */
+    public static void open() {
+        migrate();
+    }
+
+    /**
+     * Brings the schema up to date, the first time it is called in this process.
+     *
+     * @return true if this call ran the migrations.
+     * @throws IllegalStateException if the schema could not be brought up to date.
+     */
+    static boolean migrate() {
+        return SchemaManager.migrate(DB_URL, "clevercash", MIGRATIONS);
+    }
+
+    /**
+     * Checks out a pooled connection to 'clevercash.db'.
+     */
+    static Connection connect() throws SQLException {
+        return ConnectionPool.forUrl(DB_URL).getConnection();
+    }
+
+    /**
+     * Copies the rows of 'accounts.db' and 'transactions.db', where they exist, into the new tables,
+     * keeping their ids. Each old file is copied first and the copy is migrated to the last schema the
+     * file had on its own, whatever version it was left at, so the import only has to handle one shape.
+     * The copies are attached for the import and detached by {@link SchemaManager} once it is committed.
+     */
+    private static void importLegacyDatabases(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            if (attachLegacy(stmt, LEGACY_ACCOUNTS, "legacy_accounts", AccountDatabase.LEGACY_MIGRATIONS)) {
+                int accounts = stmt.executeUpdate("""
+                        INSERT INTO accounts (id, name, openingDate, openingBalance)
+                        SELECT id, name, openingDate, openingBalance FROM legacy_accounts.accounts
+                        """);
+                System.out.println("Imported " + accounts + " accounts from " + LEGACY_ACCOUNTS + ".");
+            }
+
+            if (attachLegacy(stmt, LEGACY_TRANSACTIONS, "legacy_transactions", TransactionDatabase.LEGACY_MIGRATIONS)) {
+                stmt.executeUpdate("""
+                        INSERT INTO transaction_types (id, type)
+                        SELECT id, type FROM legacy_transactions.transaction_types
+                        """);
+                int transactions = stmt.executeUpdate("""
+                        INSERT INTO transactions (id, account, typeId, transactionDate, transactionDescription, paymentCents, depositCents)
+                        SELECT id, account, typeId, transactionDate, transactionDescription, paymentCents, depositCents
+                        FROM legacy_transactions.transactions
+                        """);
+                int schedules = stmt.executeUpdate("""
+                        INSERT INTO scheduled_transactions (scheduleName, account, transactionType, frequency, dueDate, paymentCents, lastPostedDate)
+                        SELECT scheduleName, account, transactionType, frequency, dueDate, paymentCents, lastPostedDate
+                        FROM legacy_transactions.scheduled_transactions
+                        """);
+                System.out.println("Imported " + transactions + " transactions and " + schedules
+                        + " scheduled transactions from " + LEGACY_TRANSACTIONS + ".");
+            }
+
+            // Deleting an account keeps its transactions, so the old files may already hold some without one
+            try (ResultSet rs = stmt.executeQuery("""
+                    SELECT COUNT(*) FROM transactions t
+                    WHERE NOT EXISTS (SELECT 1 FROM accounts a WHERE a.name = t.account)
+                    """)) {
+                int orphaned = rs.next() ? rs.getInt(1) : 0;
+                if (orphaned > 0) {
+                    System.out.println(orphaned + " imported transactions belong to deleted accounts.");
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies an old database file, migrates the copy to its final schema and attaches it under the given
+     * name. The old file itself is only read, so it is left exactly as it was.
+     *
+     * @return false if the file does not exist, since attaching it would create an empty one.
+     * @throws SQLException if the file could not be copied, migrated or attached.
+     */
+    private static boolean attachLegacy(Statement stmt, Path file, String schema,
+                                        List<SchemaManager.Migration> migrations) throws SQLException {
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+
+        String name = file.getFileName().toString();
+        Path copy = copyForImport(file);
+        SchemaManager.migrate("jdbc:sqlite:" + copy, name, migrations);
+        stmt.execute("ATTACH DATABASE '" + copy.toString().replace("'", "''") + "' AS " + schema);
+        try (ResultSet rs = stmt.executeQuery("PRAGMA " + schema + ".user_version")) {
+            int version = rs.next() ? rs.getInt(1) : 0;
+            if (version != migrations.size()) {
+                throw new SQLException(name + " is at schema version " + version + ", expected " + migrations.size() + ".");
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies an old database file to the same name plus '.bak', for the import to migrate. VACUUM INTO writes
+     * a consistent copy, including changes still in the write-ahead log, to a temporary file that is
+     * renamed once complete. The old file is opened read-only, and a copy left by an earlier, failed
+     * attempt is replaced, since it may be part way through the old migrations.
+     *
+     * @return the copy.
+     */
+    private static Path copyForImport(Path file) throws SQLException {
+        Path copy = file.resolveSibling(file.getFileName() + ".bak");
+        Path partial = file.resolveSibling(file.getFileName() + ".bak.tmp");
+        Properties readOnly = new Properties();
+        readOnly.setProperty("open_mode", "1"); // SQLITE_OPEN_READONLY
+        try {
+            Files.deleteIfExists(partial);
+            // A connection of its own, since VACUUM cannot run inside the migration's transaction
+            try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + file, readOnly);
+                 Statement stmt = conn.createStatement()) {
+                stmt.execute("VACUUM INTO '" + partial.toString().replace("'", "''") + "'");
+            }
+            Files.move(partial, copy, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new SQLException("Failed to copy " + file + " to " + copy + ".", e);
+        }
+        System.out.println("Copied " + file + " to " + copy + " for import.");
+        return copy;
+    }
+}
@@ -0,0 +1,304 @@
+package application.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ConnectionPool keeps a small, bounded set of long-lived SQLite connections per database file.
+ * Pools live for the whole application and are shared by every DAO instance that uses the same URL.
+ * Connections handed out by {@link #getConnection()} return themselves to the pool when closed,
+ * so DAOs can keep using try-with-resources exactly as before. Each connection keeps its prepared
+ * statements open in a {@link StatementCache}, so preparing the same SQL again costs no parse or plan.
+ */
+public final class ConnectionPool {
+
+    // Maximum number of open connections per database file
+    private static final int MAX_CONNECTIONS = 4;
+
+    // How long a caller waits for a free connection before giving up
+    private static final long CHECKOUT_TIMEOUT_SECONDS = 30;
+
+    // Prepared statements kept open per connection; the DAOs use a few dozen distinct statements
+    private static final int STATEMENT_CACHE_SIZE = 64;
+
+    private static final Map<String, ConnectionPool> POOLS = new ConcurrentHashMap<>();
+
+    private final String url;
+    private final StorageProfile profile = StorageProfile.current();
+    private final Semaphore permits = new Semaphore(MAX_CONNECTIONS, true);
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private volatile boolean closed;
+
+    // Pool statistics
+    private final AtomicLong checkouts = new AtomicLong();
+    private final AtomicLong waitedCheckouts = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong connectionsOpened = new AtomicLong();
+    private final AtomicLong statementHits = new AtomicLong();
+    private final AtomicLong statementMisses = new AtomicLong();
+
+    /**
+     * A physical connection and the statements prepared on it.
+     */
+    private record PooledConnection(Connection physical, StatementCache statements) {
+
+        void close() throws SQLException {
+            statements.close();
+            physical.close();
+        }
+    }
+
+    private ConnectionPool(String url) {
+        this.url = url;
+    }
+
+    /**
+     * Returns the shared pool for the given JDBC URL, creating it on first use.
+     *
+     * @param url the JDBC URL of the SQLite database.
+     * @return the pool for that database.
+     */
+    public static ConnectionPool forUrl(String url) {
+        return POOLS.computeIfAbsent(url, ConnectionPool::new);
+    }
+
+    /**
+     * Closes every pool and the physical connections they hold. Called once when the application exits.
+     */
+    public static void closeAll() {
+        for (ConnectionPool pool : POOLS.values()) {
+            pool.close();
+        }
+        POOLS.clear();
+    }
+
+    /**
+     * Checks out a connection, waiting if all connections are currently in use.
+     * Closing the returned connection hands it back to the pool.
+     *
+     * @return a pooled Connection.
+     * @throws SQLException if no connection becomes available or the database cannot be opened.
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed: " + url);
+        }
+
+        long start = System.nanoTime();
+        boolean acquired = permits.tryAcquire();
+        if (!acquired) {
+            waitedCheckouts.incrementAndGet();
+            try {
+                acquired = permits.tryAcquire(CHECKOUT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a database connection.", e);
+            }
+            if (!acquired) {
+                throw new SQLException("Timed out waiting for a database connection: " + url);
+            }
+        }
+        long waited = System.nanoTime() - start;
+        checkouts.incrementAndGet();
+        totalWaitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+
+        try {
+            PooledConnection pooled;
+            synchronized (idle) {
+                pooled = idle.pollFirst();
+            }
+            if (pooled == null || pooled.physical().isClosed()) {
+                pooled = openConnection();
+            }
+            return wrap(pooled);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a new physical connection to the database and applies the active {@link StorageProfile}.
+     */
+    private PooledConnection openConnection() throws SQLException {
+        Connection conn = DriverManager.getConnection(url);
+        try {
+            profile.apply(conn);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        connectionsOpened.incrementAndGet();
+        return new PooledConnection(conn, new StatementCache(conn, STATEMENT_CACHE_SIZE, statementHits, statementMisses));
+    }
+
+    /**
+     * Returns a physical connection to the idle queue, resetting any state a DAO may have changed.
+     */
+    private void release(PooledConnection pooled) {
+        Connection physical = pooled.physical();
+        try {
+            if (!physical.isClosed()) {
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                if (closed) {
+                    pooled.close();
+                } else {
+                    synchronized (idle) {
+                        idle.addFirst(pooled);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Discarding broken pooled connection.");
+            e.printStackTrace();
+            try {
+                pooled.close();
+            } catch (SQLException ignored) {
+                // Already broken
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void close() {
+        closed = true;
+        synchronized (idle) {
+            for (PooledConnection pooled : idle) {
+                try {
+                    pooled.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+            idle.clear();
+        }
+    }
+
+    /**
+     * Wraps a physical connection so that close() returns it to the pool instead of closing it,
+     * and prepareStatement() is served from the connection's statement cache.
+     */
+    private Connection wrap(PooledConnection pooled) {
+        Connection physical = pooled.physical();
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean released;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!released) {
+                            released = true;
+                            release(pooled);
+                        }
+                        return null;
+                    case "isClosed":
+                        return released || physical.isClosed();
+                    case "unwrap":
+                        if (((Class<?>) args[0]).isInstance(physical)) {
+                            return physical;
+                        }
+                        break;
+                    default:
+                        if (released) {
+                            throw new SQLException("Connection has already been returned to the pool.");
+                        }
+                        // Only the plain and generated-keys forms are cached; the others are rarely used
+                        if (method.getName().equals("prepareStatement")) {
+                            if (args.length == 1) {
+                                return pooled.statements().prepare((String) args[0], Statement.NO_GENERATED_KEYS);
+                            }
+                            if (args.length == 2 && method.getParameterTypes()[1] == int.class) {
+                                return pooled.statements().prepare((String) args[0], (Integer) args[1]);
+                            }
+                        }
+                }
+                try {
+                    return method.invoke(physical, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, handler);
+    }
+
+    /**
+     * Returns a snapshot of this pool's statistics.
+     *
+     * @return the current {@link Stats}.
+     */
+    public Stats getStats() {
+        int idleCount;
+        synchronized (idle) {
+            idleCount = idle.size();
+        }
+        return new Stats(url, MAX_CONNECTIONS - permits.availablePermits(), idleCount,
+                connectionsOpened.get(), checkouts.get(), waitedCheckouts.get(),
+                totalWaitNanos.get(), maxWaitNanos.get(), statementHits.get(), statementMisses.get());
+    }
+
+    /**
+     * Returns statistics for every pool created so far.
+     *
+     * @return a map from JDBC URL to {@link Stats}.
+     */
+    public static Map<String, Stats> getAllStats() {
+        Map<String, Stats> stats = new ConcurrentHashMap<>();
+        POOLS.forEach((url, pool) -> stats.put(url, pool.getStats()));
+        return stats;
+    }
+
+    /**
+     * Immutable snapshot of pool statistics, including how long callers waited to check out a connection
+     * and how many prepared statements were served from the statement caches.
+     */
+    public record Stats(String url, int inUse, int idle, long connectionsOpened, long checkouts,
+                        long waitedCheckouts, long totalWaitNanos, long maxWaitNanos,
+                        long statementHits, long statementMisses) {
+
+        /**
+         * @return the average checkout wait in milliseconds across all checkouts.
+         */
+        public double averageWaitMillis() {
+            return checkouts == 0 ? 0.0 : totalWaitNanos / 1_000_000.0 / checkouts;
+        }
+
+        /**
+         * @return the fraction of prepared statements reused from a statement cache.
+         */
+        public double statementHitRate() {
+            long prepared = statementHits + statementMisses;
+            return prepared == 0 ? 0.0 : statementHits / (double) prepared;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: inUse=%d idle=%d opened=%d checkouts=%d waited=%d avgWait=%.3fms maxWait=%.3fms "
+                            + "statementHits=%d statementMisses=%d statementHitRate=%.1f%%",
+                    url, inUse, idle, connectionsOpened, checkouts, waitedCheckouts,
+                    averageWaitMillis(), maxWaitNanos / 1_000_000.0,
+                    statementHits, statementMisses, statementHitRate() * 100);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package application.database;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A handle for abandoning a running query. The DAO registers the statement it is executing, and
+ * {@link #cancel()} calls {@link Statement#cancel()} on it, which SQLite answers by interrupting the
+ * statement at its next step. Row loops should also check {@link #isCancelled()} so a query that has
+ * already produced its rows stops mapping them.
+ */
+public final class QueryCancellation {
+
+    /** A token that is never cancelled, for callers that do not need to abandon the query. */
+    public static final QueryCancellation NONE = new QueryCancellation();
+
+    private volatile boolean cancelled;
+    private Statement statement;
+
+    /**
+     * Marks the query as cancelled and interrupts its statement if one is running.
+     */
+    public void cancel() {
+        if (this == NONE) {
+            return;
+        }
+        // Statement.cancel() interrupts the whole connection, so it runs under the lock that
+        // unregister() takes; the connection cannot be handed back to the pool while it runs
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            if (statement != null) {
+                try {
+                    statement.cancel();
+                } catch (SQLException e) {
+                    // The statement already finished
+                }
+            }
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Registers the statement about to run. If the token was cancelled first the statement is cancelled at once.
+     *
+     * @param running the statement to cancel with this token.
+     * @throws SQLException if the statement cannot be cancelled.
+     */
+    void register(Statement running) throws SQLException {
+        if (this == NONE) {
+            return;
+        }
+        synchronized (this) {
+            statement = running;
+            if (cancelled) {
+                running.cancel();
+            }
+        }
+    }
+
+    /**
+     * Forgets the registered statement before it is closed. Waits for a {@link #cancel()} that is
+     * interrupting the statement to finish, so a late cancel cannot reach the connection after it
+     * has been returned to the pool and borrowed by another query.
+     */
+    void unregister() {
+        if (this == NONE) {
+            return;
+        }
+        synchronized (this) {
+            statement = null;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package application.database;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ReferenceCache keeps one small, rarely changing table in memory, such as the account or transaction
+ * type list that every form and chart asks for. Caches are static and shared by every DAO instance,
+ * like {@link ConnectionPool}. The owning DAO calls {@link #invalidate()} after each write to the table,
+ * and the next read loads it again. A load that raced with a write is returned but not kept, so a stale
+ * list is never cached.
+ *
+ * @param <T> the type of the cached rows.
+ */
+public final class ReferenceCache<T> {
+
+    /**
+     * Loads the full contents of the cached table.
+     */
+    @FunctionalInterface
+    interface Loader<T> {
+        List<T> load() throws SQLException;
+    }
+
+    private static final Map<String, ReferenceCache<?>> CACHES = new ConcurrentHashMap<>();
+
+    private final String name;
+    private volatile List<T> values;
+    private long version;
+
+    // Cache statistics
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private ReferenceCache(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Creates a cache and registers it for {@link #getAllStats()}.
+     *
+     * @param name a name for the cached table, used in statistics.
+     * @param <T>  the type of the cached rows.
+     * @return the new cache.
+     */
+    static <T> ReferenceCache<T> create(String name) {
+        ReferenceCache<T> cache = new ReferenceCache<>(name);
+        CACHES.put(name, cache);
+        return cache;
+    }
+
+    /**
+     * Returns the cached rows, loading them if the cache is empty.
+     *
+     * @param loader reads the table when there is nothing cached.
+     * @return an unmodifiable list of the rows.
+     * @throws SQLException if the rows had to be loaded and the load failed; nothing is cached.
+     */
+    List<T> get(Loader<T> loader) throws SQLException {
+        List<T> cached = values;
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+
+        long loadVersion;
+        synchronized (this) {
+            loadVersion = version;
+        }
+        List<T> loaded = List.copyOf(loader.load());
+        synchronized (this) {
+            if (version == loadVersion) {
+                values = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the cached rows. Call after the write has been committed.
+     */
+    void invalidate() {
+        synchronized (this) {
+            version++;
+            values = null;
+        }
+        invalidations.incrementAndGet();
+    }
+
+    /**
+     * Returns a snapshot of this cache's statistics.
+     *
+     * @return the current {@link Stats}.
+     */
+    public Stats getStats() {
+        List<T> cached = values;
+        return new Stats(name, cached == null ? -1 : cached.size(), hits.get(), misses.get(), invalidations.get());
+    }
+
+    /**
+     * Returns statistics for every cache created so far.
+     *
+     * @return a map from cache name to {@link Stats}.
+     */
+    public static Map<String, Stats> getAllStats() {
+        Map<String, Stats> stats = new ConcurrentHashMap<>();
+        CACHES.forEach((name, cache) -> stats.put(name, cache.getStats()));
+        return stats;
+    }
+
+    /**
+     * Immutable snapshot of cache statistics. A size of -1 means nothing is cached.
+     */
+    public record Stats(String name, int size, long hits, long misses, long invalidations) {
+
+        /**
+         * @return the fraction of reads served from memory.
+         */
+        public double hitRate() {
+            long reads = hits + misses;
+            return reads == 0 ? 0.0 : hits / (double) reads;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: size=%d hits=%d misses=%d invalidations=%d hitRate=%.1f%%",
+                    name, size, hits, misses, invalidations, hitRate() * 100);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package application.database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SchemaManager brings a database file's schema up to date once per process, so DAOs can be constructed
+ * freely without repeating DDL. The schema version is kept in {@code PRAGMA user_version}: a database at
+ * version N has had the first N migrations of its list applied, and only the ones after that run. Each
+ * migration runs in its own transaction together with the version bump, so a failed migration leaves the
+ * database at the previous version and is retried on the next start. Until then the database cannot be
+ * used: the failure is thrown to every caller in this process, so nothing writes to a half-migrated schema
+ * or adds rows that a retried migration would then collide with. A migration may attach other
+ * database files to copy from; they are detached once its transaction has ended.
+ *
+ * <p>Migrations are only ever appended; a released migration is never changed or reordered.
+ */
+final class SchemaManager {
+
+    /**
+     * One forward step of a schema. It runs inside a transaction that the schema manager commits, with
+     * foreign key checks deferred to the commit so tables can be rebuilt and renamed.
+     */
+    @FunctionalInterface
+    interface Migration {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    private static final Set<String> MIGRATED = ConcurrentHashMap.newKeySet();
+
+    // The failure of each database whose migration failed, rethrown to later callers
+    private static final Map<String, IllegalStateException> FAILED = new ConcurrentHashMap<>();
+
+    private SchemaManager() {
+    }
+
+    /**
+     * Migrates the database at the given URL to the latest version, the first time it is called for that
+     * URL in this process. Later calls return at once.
+     *
+     * @param url        the JDBC URL of the database, as used with {@link ConnectionPool#forUrl(String)}.
+     * @param name       a name for the database, used in log messages.
+     * @param migrations every migration of the schema, in order; migration i takes it to version i + 1.
+     * @return true if this call ran the migrations, so the caller can do its own one-time startup work.
+     * @throws IllegalStateException if the schema could not be brought up to date, by this call or an earlier one.
+     */
+    static synchronized boolean migrate(String url, String name, List<Migration> migrations) {
+        IllegalStateException failure = FAILED.get(url);
+        if (failure != null) {
+            throw failure;
+        }
+        if (!MIGRATED.add(url)) {
+            return false;
+        }
+
+        try (Connection conn = ConnectionPool.forUrl(url).getConnection();
+             Statement stmt = conn.createStatement()) {
+            int version = userVersion(stmt);
+            if (version > migrations.size()) {
+                System.err.println("The " + name + " database is at schema version " + version
+                        + ", newer than this application's " + migrations.size() + ".");
+                return true;
+            }
+
+            for (int next = version + 1; next <= migrations.size(); next++) {
+                conn.setAutoCommit(false);
+                try {
+                    stmt.execute("PRAGMA defer_foreign_keys = ON");
+                    migrations.get(next - 1).apply(conn);
+                    stmt.execute("PRAGMA user_version = " + next);
+                    conn.commit();
+                } catch (SQLException | RuntimeException e) {
+                    conn.rollback();
+                    throw fail(url, "Failed to migrate the " + name + " database to schema version " + next + ".", e);
+                } finally {
+                    conn.setAutoCommit(true);
+                    detachAll(stmt);
+                }
+            }
+            if (version < migrations.size()) {
+                System.out.println("Migrated the " + name + " database from schema version " + version
+                        + " to " + migrations.size() + ".");
+            }
+        } catch (SQLException e) {
+            throw fail(url, "Failed to read the schema version of the " + name + " database.", e);
+        }
+        return true;
+    }
+
+    private static IllegalStateException fail(String url, String message, Exception cause) {
+        System.err.println(message);
+        IllegalStateException failure = new IllegalStateException(message, cause);
+        FAILED.put(url, failure);
+        return failure;
+    }
+
+    // SQLite refuses to detach a database inside the transaction that used it
+    private static void detachAll(Statement stmt) throws SQLException {
+        List<String> attached = new ArrayList<>();
+        try (ResultSet rs = stmt.executeQuery("PRAGMA database_list")) {
+            while (rs.next()) {
+                String schema = rs.getString("name");
+                if (!schema.equals("main") && !schema.equals("temp")) {
+                    attached.add(schema);
+                }
+            }
+        }
+        for (String schema : attached) {
+            stmt.execute("DETACH DATABASE " + schema);
+        }
+    }
+
+    private static int userVersion(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
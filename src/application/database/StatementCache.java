@@ -0,0 +1,148 @@
+package application.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * StatementCache keeps the prepared statements of one pooled connection open between uses, keyed by
+ * SQL text, so a DAO that prepares the same statement on every call gets the compiled one back instead
+ * of SQLite parsing and planning it again. A statement handed out returns to the cache when it is
+ * closed, with its parameters and batch cleared. Once the cache is full, the least recently used
+ * statement is closed. Result sets must be closed before their statement, as try-with-resources does,
+ * since an open one keeps the cached statement active. Like its connection, a cache is only used by
+ * one thread at a time.
+ */
+final class StatementCache {
+
+    private record Key(String sql, int autoGeneratedKeys) {
+    }
+
+    private final Connection physical;
+    private final int capacity;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+
+    // Statements not currently handed out, in access order for LRU eviction
+    private final LinkedHashMap<Key, PreparedStatement> idle = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, PreparedStatement> eldest) {
+            if (size() > capacity) {
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * @param physical the connection the statements belong to.
+     * @param capacity the most statements kept open.
+     * @param hits     counts statements served from the cache, shared by the pool's connections.
+     * @param misses   counts statements that had to be prepared.
+     */
+    StatementCache(Connection physical, int capacity, AtomicLong hits, AtomicLong misses) {
+        this.physical = physical;
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    /**
+     * Returns a prepared statement for the SQL, reusing a cached one if it is not in use.
+     *
+     * @param sql               the SQL text.
+     * @param autoGeneratedKeys {@link Statement#RETURN_GENERATED_KEYS} or {@link Statement#NO_GENERATED_KEYS}.
+     * @return a statement whose close() hands it back to this cache.
+     * @throws SQLException if the statement cannot be prepared.
+     */
+    PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        Key key = new Key(sql, autoGeneratedKeys);
+        PreparedStatement statement = idle.remove(key);
+        if (statement != null && !statement.isClosed()) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            statement = autoGeneratedKeys == Statement.NO_GENERATED_KEYS
+                    ? physical.prepareStatement(sql)
+                    : physical.prepareStatement(sql, autoGeneratedKeys);
+        }
+        return wrap(key, statement);
+    }
+
+    /**
+     * Closes every cached statement. Called before the connection itself is closed.
+     */
+    void close() {
+        idle.values().forEach(StatementCache::closeQuietly);
+        idle.clear();
+    }
+
+    private void giveBack(Key key, PreparedStatement statement) {
+        try {
+            if (statement.isClosed()) {
+                return;
+            }
+            statement.clearParameters();
+            statement.clearBatch();
+        } catch (SQLException e) {
+            closeQuietly(statement);
+            return;
+        }
+        // The same SQL may have been prepared twice while the first was in use; keep only one
+        PreparedStatement previous = idle.put(key, statement);
+        if (previous != null) {
+            closeQuietly(previous);
+        }
+    }
+
+    /**
+     * Wraps a statement so that close() returns it to the cache instead of closing it.
+     */
+    private PreparedStatement wrap(Key key, PreparedStatement statement) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean returned;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!returned) {
+                            returned = true;
+                            giveBack(key, statement);
+                        }
+                        return null;
+                    case "isClosed":
+                        return returned || statement.isClosed();
+                    default:
+                        if (returned) {
+                            throw new SQLException("Statement has already been closed.");
+                        }
+                }
+                try {
+                    return method.invoke(statement, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(), new Class<?>[] { PreparedStatement.class }, handler);
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // The statement is discarded either way
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package application.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * StorageProfile describes the SQLite PRAGMA settings applied to every pooled connection when it is opened.
+ * Both presets use write-ahead logging so readers (such as the Home dashboard) never block behind a writer;
+ * they differ in how aggressively they trade durability for write speed.
+ *
+ * The active profile is chosen with the {@code clevercash.storage.profile} system property
+ * ({@code durable} or {@code fast}) and defaults to {@link #DURABLE}.
+ */
+public enum StorageProfile {
+
+    /**
+     * Every commit is fsynced to the WAL before returning. Survives power loss without losing the last commit.
+     */
+    DURABLE("FULL", -16_000, 64L * 1024 * 1024),
+
+    /**
+     * Commits are fsynced only at checkpoints. The database stays consistent after a crash,
+     * but the most recent commits may be rolled back on power loss.
+     */
+    FAST("NORMAL", -64_000, 256L * 1024 * 1024);
+
+    // System property used to select the profile
+    public static final String PROPERTY = "clevercash.storage.profile";
+
+    // Milliseconds a connection waits on a locked database before failing with SQLITE_BUSY
+    private static final int BUSY_TIMEOUT_MILLIS = 5_000;
+
+    private final String synchronous;
+    private final int cacheSize;
+    private final long mmapSize;
+
+    StorageProfile(String synchronous, int cacheSize, long mmapSize) {
+        this.synchronous = synchronous;
+        this.cacheSize = cacheSize;
+        this.mmapSize = mmapSize;
+    }
+
+    /**
+     * Returns the profile selected by the {@value #PROPERTY} system property.
+     *
+     * @return the active StorageProfile.
+     */
+    public static StorageProfile current() {
+        String value = System.getProperty(PROPERTY, DURABLE.name());
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown storage profile '" + value + "', using " + DURABLE + ".");
+            return DURABLE;
+        }
+    }
+
+    /**
+     * Applies this profile's PRAGMAs to a freshly opened connection.
+     *
+     * @param conn the connection to configure.
+     * @throws SQLException if a PRAGMA cannot be applied.
+     */
+    public void apply(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            // busy_timeout first so the journal_mode switch itself waits on a locked database
+            stmt.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MILLIS);
+            stmt.execute("PRAGMA journal_mode = WAL");
+            stmt.execute("PRAGMA synchronous = " + synchronous);
+            stmt.execute("PRAGMA cache_size = " + cacheSize);
+            stmt.execute("PRAGMA mmap_size = " + mmapSize);
+            stmt.execute("PRAGMA temp_store = MEMORY");
+            // SQLite only enforces REFERENCES clauses on connections that turn this on
+            stmt.execute("PRAGMA foreign_keys = ON");
+        }
+    }
+}
@@ -1,119 +1,964 @@
 package application.database;
 
+import application.model.DashboardSnapshot;
+import application.model.DueTransaction;
+import application.model.Granularity;
 import application.model.TransactionBean;
+import application.model.SymbolTable;
+import application.model.TimeSeries;
 import application.model.ScheduledTransactionBean;
+import application.services.EventBus;
+import application.services.ScheduledTransactionChangeEvent;
+import application.services.TransactionBatchAddedEvent;
+import application.services.TransactionChangeEvent;
+import application.services.TransactionTypeChangeEvent;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import java.sql.*;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * TransactionDatabase manages database operations for transactions and scheduled transactions.
  * It includes methods to add, retrieve, update, and delete transactions from the SQLite database.
+ * Every successful write is published on the {@link EventBus} with the before and after values.
  */
 public class TransactionDatabase {
-    // Path to the SQLite database file
-	private static final String DB_URL = "jdbc:sqlite:" + System.getProperty("user.dir") + "/database/transactions.db";
+    // Set by the first DAO created in the process, which runs the optional startup maintenance
+    private static final AtomicBoolean STARTED = new AtomicBoolean();
+
+    // Type names are read by every form and chart but only change when a type is added
+    private static final ReferenceCache<String> TRANSACTION_TYPES = ReferenceCache.create("transaction types");
+
+    // Rows sent to SQLite per executeBatch() call in addTransactions
+    private static final int INSERT_BATCH_SIZE = 1_000;
+
+    // System property that turns on EXPLAIN QUERY PLAN output for the DAO queries
+    public static final String EXPLAIN_PROPERTY = "clevercash.db.explain";
+
+    // System property that recomputes the monthly rollups and balance checkpoints from the ledger at startup
+    public static final String REBUILD_ROLLUPS_PROPERTY = "clevercash.db.rebuildRollups";
+
+    private static final String SELECT_ALL_TRANSACTIONS =
+            "SELECT * FROM transaction_rows ORDER BY transactionDate DESC"; // Sorting by date in descending order
+    private static final String SELECT_TRANSACTION_TYPE_AMOUNTS =
+            "SELECT tt.type AS transactionType, SUM(r.paymentCents) as totalCents "
+                    + "FROM monthly_rollups r JOIN transaction_types tt ON tt.id = r.typeId GROUP BY r.typeId";
+    private static final String SELECT_TRANSACTIONS_BY_ACCOUNT =
+            "SELECT * FROM transaction_rows WHERE account = ? AND transactionDate BETWEEN ? AND ? ORDER BY transactionDate DESC, id DESC";
+    private static final String SELECT_TRANSACTIONS_BY_TYPE =
+            "SELECT * FROM transaction_rows WHERE transactionType = ? AND transactionDate BETWEEN ? AND ? ORDER BY transactionDate DESC, id DESC";
+    private static final String COUNT_TRANSACTIONS = "SELECT COUNT(*) FROM transactions";
+    private static final String SELECT_FIRST_TRANSACTION_PAGE =
+            "SELECT * FROM transaction_rows ORDER BY transactionDate DESC, id DESC LIMIT ?";
+    private static final String SELECT_TRANSACTION_PAGE_AFTER =
+            "SELECT * FROM transaction_rows WHERE (transactionDate, id) < (?, ?) ORDER BY transactionDate DESC, id DESC LIMIT ?";
+    private static final String SELECT_FIRST_PAGE_CURSOR =
+            "SELECT transactionDate, id FROM transactions ORDER BY transactionDate DESC, id DESC LIMIT 1 OFFSET ?";
+    private static final String SELECT_PAGE_CURSOR_AFTER =
+            "SELECT transactionDate, id FROM transactions WHERE (transactionDate, id) < (?, ?) ORDER BY transactionDate DESC, id DESC LIMIT 1 OFFSET ?";
+    private static final String SELECT_DASHBOARD_AGGREGATES = """
+            SELECT NULL AS month, COUNT(*) AS rowCount, 0 AS payments, 0 AS deposits, 0 AS net FROM scheduled_transactions
+            UNION ALL
+            SELECT printf('%04d-%02d', year, month) AS month, SUM(transactionCount) AS rowCount,
+                   SUM(expenseCents) AS payments, SUM(incomeCents) AS deposits,
+                   SUM(paymentCents - depositCents) AS net
+            FROM monthly_rollups GROUP BY year, month
+            """;
+    private static final String SELECT_DAILY_NET_EXPENSES =
+            "SELECT transactionDate, SUM(paymentCents - depositCents) AS net FROM transactions "
+                    + "WHERE transactionDate BETWEEN ? AND ? GROUP BY transactionDate";
+    private static final String SELECT_MONTHLY_NET_EXPENSES =
+            "SELECT year, month, SUM(paymentCents - depositCents) AS net FROM monthly_rollups "
+                    + "WHERE (year, month) BETWEEN (?, ?) AND (?, ?) GROUP BY year, month";
+    private static final String SELECT_TRANSACTIONS_BETWEEN =
+            "SELECT * FROM transaction_rows WHERE transactionDate BETWEEN ? AND ? ORDER BY transactionDate DESC, id DESC";
+    private static final String COUNT_TRANSACTIONS_BETWEEN =
+            "SELECT COUNT(*) FROM transactions WHERE transactionDate BETWEEN ? AND ?";
+    private static final String SEARCH_TRANSACTIONS =
+            "SELECT r.* FROM transactions_fts f JOIN transaction_rows r ON r.id = f.rowid "
+                    + "WHERE transactions_fts MATCH ? ORDER BY f.rank LIMIT ?";
+    // LIKE is case-insensitive for ASCII; the scheduled table is small, so a scan is fine
+    private static final String SEARCH_SCHEDULED_TRANSACTIONS =
+            "SELECT * FROM scheduled_transactions WHERE scheduleName LIKE ? ESCAPE '\\' ORDER BY dueDate";
+    // Both read the index on dueDate; the due dates of the scheduled table are days of the month
+    private static final String SELECT_NEXT_DUE_DATE =
+            "SELECT MIN(dueDate) FROM scheduled_transactions WHERE dueDate > ? AND dueDate <= 31";
+    private static final String SELECT_SCHEDULES_DUE_BETWEEN =
+            "SELECT * FROM scheduled_transactions WHERE dueDate BETWEEN ? AND ? ORDER BY dueDate";
+    private static final String SELECT_SCHEDULES_TO_POST =
+            "SELECT * FROM scheduled_transactions WHERE lastPostedDate < ?";
+    // Only advances a schedule still at the date it was read with, so an occurrence is never posted twice
+    private static final String MARK_SCHEDULE_POSTED =
+            "UPDATE scheduled_transactions SET lastPostedDate = ? WHERE scheduleName = ? AND lastPostedDate = ?";
+    private static final String DELETE_TRANSACTION = "DELETE FROM transactions WHERE id = ?";
+    private static final String UPDATE_TRANSACTION =
+            "UPDATE transactions SET account = ?, typeId = (SELECT id FROM transaction_types WHERE type = ?), transactionDate = ?, transactionDescription = ?, paymentCents = ?, depositCents = ? WHERE id = ?";
+
+    private static final String INSERT_TRANSACTION =
+            "INSERT INTO transactions (account, typeId, transactionDate, transactionDescription, paymentCents, depositCents) "
+                    + "VALUES (?, (SELECT id FROM transaction_types WHERE type = ?), ?, ?, ?, ?)";
+    private static final String ENSURE_TRANSACTION_TYPE = "INSERT OR IGNORE INTO transaction_types (type) VALUES (?)";
+    private static final String INSERT_TRANSACTION_TYPE = "INSERT INTO transaction_types (type) VALUES (?)";
+    private static final String SELECT_TRANSACTION_TYPES = "SELECT type FROM transaction_types ORDER BY type ASC";
+
+    private static final String SELECT_ALL_SCHEDULED_TRANSACTIONS =
+            "SELECT * FROM scheduled_transactions ORDER BY ROWID DESC"; // Sorting by the latest addition at the top
+    private static final String INSERT_SCHEDULED_TRANSACTION =
+            "INSERT INTO scheduled_transactions (scheduleName, account, transactionType, frequency, dueDate, paymentCents, lastPostedDate) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SCHEDULED_TRANSACTION =
+            "UPDATE scheduled_transactions SET scheduleName = ?, account = ?, transactionType = ?, frequency = ?, dueDate = ?, paymentCents = ? WHERE scheduleName = ?";
+    private static final String DELETE_SCHEDULED_TRANSACTION = "DELETE FROM scheduled_transactions WHERE scheduleName = ?";
+    private static final String COUNT_SCHEDULES_NAMED = "SELECT COUNT(*) FROM scheduled_transactions WHERE scheduleName = ?";
+
+    // Table definitions, formatted with the table name so migrations can build a copy.
+    // transactionDate holds the day number since 1970-01-01 (LocalDate.toEpochDay), as does
+    // lastPostedDate: the schedule's occurrences up to that day are already in 'transactions'.
+    private static final String TRANSACTIONS_TABLE = """
+            CREATE TABLE IF NOT EXISTS %s (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                account TEXT NOT NULL,
+                typeId INTEGER NOT NULL REFERENCES transaction_types (id),
+                transactionDate INTEGER NOT NULL,
+                transactionDescription TEXT,
+                paymentCents INTEGER NOT NULL DEFAULT 0,
+                depositCents INTEGER NOT NULL DEFAULT 0
+            )
+            """;
+    private static final String SCHEDULED_TRANSACTIONS_TABLE = """
+            CREATE TABLE IF NOT EXISTS %s (
+                scheduleName TEXT UNIQUE NOT NULL,
+                account TEXT NOT NULL,
+                transactionType TEXT NOT NULL,
+                frequency TEXT NOT NULL,
+                dueDate INTEGER NOT NULL,
+                paymentCents INTEGER NOT NULL,
+                lastPostedDate INTEGER
+            )
+            """;
+    private static final String TRANSACTION_TYPES_TABLE = """
+            CREATE TABLE IF NOT EXISTS %s (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                type TEXT UNIQUE NOT NULL
+            )
+            """;
+
+    // Transactions joined with their type names, in the shape the beans and reports read
+    private static final String TRANSACTION_ROWS_VIEW = """
+            CREATE VIEW IF NOT EXISTS transaction_rows AS
+            SELECT t.id, t.account, tt.type AS transactionType, t.typeId, t.transactionDate,
+                   t.transactionDescription, t.paymentCents, t.depositCents
+            FROM transactions t JOIN transaction_types tt ON tt.id = t.typeId
+            """;
+
+    // Per-month sums for each account and type, kept current by triggers on 'transactions'.
+    // expenseCents and incomeCents only count positive payments and deposits, as the dashboard does.
+    private static final String MONTHLY_ROLLUPS_TABLE = """
+            CREATE TABLE IF NOT EXISTS monthly_rollups (
+                year INTEGER NOT NULL,
+                month INTEGER NOT NULL,
+                account TEXT NOT NULL,
+                typeId INTEGER NOT NULL,
+                transactionCount INTEGER NOT NULL,
+                paymentCents INTEGER NOT NULL,
+                depositCents INTEGER NOT NULL,
+                expenseCents INTEGER NOT NULL,
+                incomeCents INTEGER NOT NULL,
+                PRIMARY KEY (year, month, account, typeId)
+            ) WITHOUT ROWID
+            """;
+
+    // Trigger steps that add the new row to its rollup and take the old row out of its rollup
+    private static final String ROLLUP_ADD_NEW = """
+                INSERT INTO monthly_rollups (year, month, account, typeId, transactionCount, paymentCents, depositCents, expenseCents, incomeCents)
+                VALUES (CAST(strftime('%Y', new.transactionDate + 2440587.5) AS INTEGER),
+                        CAST(strftime('%m', new.transactionDate + 2440587.5) AS INTEGER),
+                        IFNULL(new.account, ''), new.typeId, 1, new.paymentCents, new.depositCents,
+                        MAX(new.paymentCents, 0), MAX(new.depositCents, 0))
+                ON CONFLICT (year, month, account, typeId) DO UPDATE SET
+                    transactionCount = transactionCount + 1,
+                    paymentCents = paymentCents + excluded.paymentCents,
+                    depositCents = depositCents + excluded.depositCents,
+                    expenseCents = expenseCents + excluded.expenseCents,
+                    incomeCents = incomeCents + excluded.incomeCents;
+            """;
+    private static final String ROLLUP_REMOVE_OLD = """
+                UPDATE monthly_rollups SET
+                    transactionCount = transactionCount - 1,
+                    paymentCents = paymentCents - old.paymentCents,
+                    depositCents = depositCents - old.depositCents,
+                    expenseCents = expenseCents - MAX(old.paymentCents, 0),
+                    incomeCents = incomeCents - MAX(old.depositCents, 0)
+                WHERE year = CAST(strftime('%Y', old.transactionDate + 2440587.5) AS INTEGER)
+                  AND month = CAST(strftime('%m', old.transactionDate + 2440587.5) AS INTEGER)
+                  AND account = IFNULL(old.account, '') AND typeId = old.typeId;
+                DELETE FROM monthly_rollups
+                WHERE transactionCount <= 0
+                  AND year = CAST(strftime('%Y', old.transactionDate + 2440587.5) AS INTEGER)
+                  AND month = CAST(strftime('%m', old.transactionDate + 2440587.5) AS INTEGER)
+                  AND account = IFNULL(old.account, '') AND typeId = old.typeId;
+            """;
+
+    private static final String REBUILD_MONTHLY_ROLLUPS = """
+            INSERT INTO monthly_rollups (year, month, account, typeId, transactionCount, paymentCents, depositCents, expenseCents, incomeCents)
+            SELECT CAST(strftime('%Y', transactionDate + 2440587.5) AS INTEGER) AS rollupYear,
+                   CAST(strftime('%m', transactionDate + 2440587.5) AS INTEGER) AS rollupMonth,
+                   IFNULL(account, '') AS rollupAccount, typeId, COUNT(*),
+                   SUM(paymentCents), SUM(depositCents), SUM(MAX(paymentCents, 0)), SUM(MAX(depositCents, 0))
+            FROM transactions GROUP BY rollupYear, rollupMonth, rollupAccount, typeId
+            """;
+
+    // Each account's balance change (deposits minus payments) through the last day of every month in which
+    // it has transactions. A balance on any date is one checkpoint plus at most a month of transactions.
+    private static final String BALANCE_CHECKPOINTS_TABLE = """
+            CREATE TABLE IF NOT EXISTS balance_checkpoints (
+                account TEXT NOT NULL,
+                checkpointDate INTEGER NOT NULL,
+                balanceCents INTEGER NOT NULL,
+                PRIMARY KEY (account, checkpointDate)
+            ) WITHOUT ROWID
+            """;
+
+    // Trigger steps: a new row's month gets a checkpoint carrying the previous balance forward,
+    // then every checkpoint from that month on moves by the row's amount
+    private static final String CHECKPOINT_ADD_NEW = """
+                INSERT OR IGNORE INTO balance_checkpoints (account, checkpointDate, balanceCents)
+                VALUES (IFNULL(new.account, ''), CAST(julianday(date(new.transactionDate + 2440587.5, 'start of month', '+1 month', '-1 day')) - 2440587.5 AS INTEGER),
+                        IFNULL((SELECT balanceCents FROM balance_checkpoints
+                                WHERE account = IFNULL(new.account, '') AND checkpointDate < CAST(julianday(date(new.transactionDate + 2440587.5, 'start of month', '+1 month', '-1 day')) - 2440587.5 AS INTEGER)
+                                ORDER BY checkpointDate DESC LIMIT 1), 0));
+                UPDATE balance_checkpoints SET balanceCents = balanceCents + new.depositCents - new.paymentCents
+                WHERE account = IFNULL(new.account, '') AND checkpointDate >= CAST(julianday(date(new.transactionDate + 2440587.5, 'start of month', '+1 month', '-1 day')) - 2440587.5 AS INTEGER);
+            """;
+    private static final String CHECKPOINT_REMOVE_OLD = """
+                UPDATE balance_checkpoints SET balanceCents = balanceCents - old.depositCents + old.paymentCents
+                WHERE account = IFNULL(old.account, '') AND checkpointDate >= CAST(julianday(date(old.transactionDate + 2440587.5, 'start of month', '+1 month', '-1 day')) - 2440587.5 AS INTEGER);
+            """;
+
+    private static final String REBUILD_BALANCE_CHECKPOINTS = """
+            INSERT INTO balance_checkpoints (account, checkpointDate, balanceCents)
+            SELECT checkpointAccount, checkpointDate,
+                   SUM(net) OVER (PARTITION BY checkpointAccount ORDER BY checkpointDate)
+            FROM (SELECT IFNULL(account, '') AS checkpointAccount,
+                         CAST(julianday(date(transactionDate + 2440587.5, 'start of month', '+1 month', '-1 day')) - 2440587.5 AS INTEGER) AS checkpointDate,
+                         SUM(depositCents - paymentCents) AS net
+                  FROM transactions GROUP BY checkpointAccount, checkpointDate)
+            """;
+
+    // Balance up to and including the row at (date, id): the account's opening balance, the last checkpoint
+    // before the date, and the transactions after that checkpoint, read through the account and date index
+    private static final String SELECT_BALANCE_THROUGH = """
+            WITH checkpoint AS (
+                SELECT checkpointDate, balanceCents FROM balance_checkpoints
+                WHERE account = ? AND checkpointDate < ? ORDER BY checkpointDate DESC LIMIT 1
+            )
+            SELECT IFNULL((SELECT CAST(ROUND(openingBalance * 100) AS INTEGER) FROM accounts WHERE name = ?), 0)
+                 + IFNULL((SELECT balanceCents FROM checkpoint), 0)
+                 + IFNULL((SELECT SUM(depositCents - paymentCents) FROM transactions
+                           WHERE account = ?
+                             AND transactionDate > IFNULL((SELECT checkpointDate FROM checkpoint), -9223372036854775807)
+                             AND (transactionDate, id) <= (?, ?)), 0) AS balanceCents
+            """;
+
+    // Running balances of every row from (date, id) = (?, ?) up to (?, ?) in one pass: each account's
+    // balance just before the first row, found as above, plus a running sum over the rows in the range
+    private static final String SELECT_RUNNING_BALANCES = """
+            WITH page AS (
+                SELECT id, account, transactionDate, depositCents - paymentCents AS net FROM transactions
+                WHERE (transactionDate, id) >= (?, ?) AND (transactionDate, id) <= (?, ?)
+            ),
+            opening AS (
+                SELECT p.account,
+                       IFNULL((SELECT CAST(ROUND(openingBalance * 100) AS INTEGER) FROM accounts WHERE name = p.account), 0)
+                     + IFNULL((SELECT balanceCents FROM balance_checkpoints c
+                               WHERE c.account = p.account AND c.checkpointDate < ?
+                               ORDER BY c.checkpointDate DESC LIMIT 1), 0)
+                     + IFNULL((SELECT SUM(depositCents - paymentCents) FROM transactions t
+                               WHERE t.account = p.account
+                                 AND t.transactionDate > IFNULL((SELECT MAX(checkpointDate) FROM balance_checkpoints c
+                                                                 WHERE c.account = p.account AND c.checkpointDate < ?), -9223372036854775807)
+                                 AND (t.transactionDate, t.id) < (?, ?)), 0) AS balanceCents
+                FROM (SELECT DISTINCT account FROM page) p
+            )
+            SELECT page.id, opening.balanceCents
+                 + SUM(page.net) OVER (PARTITION BY page.account ORDER BY page.transactionDate, page.id) AS balanceCents
+            FROM page JOIN opening ON opening.account = page.account
+            """;
+
+    // Every account's balance at the end of a date in one pass over 'accounts', with the same
+    // checkpoint-plus-recent-transactions lookup as above for each account
+    private static final String SELECT_ACCOUNT_BALANCES = """
+            WITH latest AS (
+                SELECT a.name, a.openingBalance,
+                       (SELECT MAX(checkpointDate) FROM balance_checkpoints c
+                        WHERE c.account = a.name AND c.checkpointDate < ?) AS checkpointDate
+                FROM accounts a
+            )
+            SELECT l.name,
+                   CAST(ROUND(l.openingBalance * 100) AS INTEGER)
+                 + IFNULL((SELECT balanceCents FROM balance_checkpoints c
+                           WHERE c.account = l.name AND c.checkpointDate = l.checkpointDate), 0)
+                 + IFNULL((SELECT SUM(depositCents - paymentCents) FROM transactions t
+                           WHERE t.account = l.name
+                             AND t.transactionDate > IFNULL(l.checkpointDate, -9223372036854775807)
+                             AND t.transactionDate <= ?), 0) AS balanceCents
+            FROM latest l
+            """;
 
     /**
-     * Establishes a connection to the SQLite database.
+     * The queries checked by {@link #explainQueryPlans()}, keyed by the DAO method that runs them.
+     * Every statement a DAO method prepares is a constant of this class and belongs here.
+     */
+    private static final Map<String, String> EXPLAINED_QUERIES = new LinkedHashMap<>();
+
+    static {
+        EXPLAINED_QUERIES.put("getAllTransactions", SELECT_ALL_TRANSACTIONS);
+        EXPLAINED_QUERIES.put("getTransactionTypeAmounts", SELECT_TRANSACTION_TYPE_AMOUNTS);
+        EXPLAINED_QUERIES.put("getTransactionsByAccount", SELECT_TRANSACTIONS_BY_ACCOUNT);
+        EXPLAINED_QUERIES.put("getTransactionsByType", SELECT_TRANSACTIONS_BY_TYPE);
+        EXPLAINED_QUERIES.put("countTransactions", COUNT_TRANSACTIONS);
+        EXPLAINED_QUERIES.put("getTransactionsPage (first)", SELECT_FIRST_TRANSACTION_PAGE);
+        EXPLAINED_QUERIES.put("getTransactionsPage", SELECT_TRANSACTION_PAGE_AFTER);
+        EXPLAINED_QUERIES.put("skipTransactions (first)", SELECT_FIRST_PAGE_CURSOR);
+        EXPLAINED_QUERIES.put("skipTransactions", SELECT_PAGE_CURSOR_AFTER);
+        EXPLAINED_QUERIES.put("getDashboardSnapshot", SELECT_DASHBOARD_AGGREGATES);
+        EXPLAINED_QUERIES.put("getNetExpenseSeries (days, weeks)", SELECT_DAILY_NET_EXPENSES);
+        EXPLAINED_QUERIES.put("getNetExpenseSeries (months, quarters, years)", SELECT_MONTHLY_NET_EXPENSES);
+        EXPLAINED_QUERIES.put("getBalanceCents", SELECT_BALANCE_THROUGH);
+        EXPLAINED_QUERIES.put("getAccountBalances", SELECT_ACCOUNT_BALANCES);
+        EXPLAINED_QUERIES.put("fillRunningBalances", SELECT_RUNNING_BALANCES);
+        EXPLAINED_QUERIES.put("getTransactionsBetween", SELECT_TRANSACTIONS_BETWEEN);
+        EXPLAINED_QUERIES.put("countTransactionsBetween", COUNT_TRANSACTIONS_BETWEEN);
+        EXPLAINED_QUERIES.put("searchTransactions", SEARCH_TRANSACTIONS);
+        EXPLAINED_QUERIES.put("searchScheduledTransactions", SEARCH_SCHEDULED_TRANSACTIONS);
+        EXPLAINED_QUERIES.put("addTransaction, addTransactions", INSERT_TRANSACTION);
+        EXPLAINED_QUERIES.put("deleteTransaction", DELETE_TRANSACTION);
+        EXPLAINED_QUERIES.put("updateTransaction", UPDATE_TRANSACTION);
+        EXPLAINED_QUERIES.put("addTransaction (type)", ENSURE_TRANSACTION_TYPE);
+        EXPLAINED_QUERIES.put("addTransactionType", INSERT_TRANSACTION_TYPE);
+        EXPLAINED_QUERIES.put("getAllTransactionTypes", SELECT_TRANSACTION_TYPES);
+        EXPLAINED_QUERIES.put("getAllScheduledTransactions", SELECT_ALL_SCHEDULED_TRANSACTIONS);
+        EXPLAINED_QUERIES.put("getNextDueDate", SELECT_NEXT_DUE_DATE);
+        EXPLAINED_QUERIES.put("getScheduledTransactionsDueBetween", SELECT_SCHEDULES_DUE_BETWEEN);
+        EXPLAINED_QUERIES.put("postDueScheduledTransactions", SELECT_SCHEDULES_TO_POST);
+        EXPLAINED_QUERIES.put("postDueScheduledTransactions (mark posted)", MARK_SCHEDULE_POSTED);
+        EXPLAINED_QUERIES.put("addScheduledTransaction", INSERT_SCHEDULED_TRANSACTION);
+        EXPLAINED_QUERIES.put("updateScheduledTransaction", UPDATE_SCHEDULED_TRANSACTION);
+        EXPLAINED_QUERIES.put("deleteScheduledTransaction", DELETE_SCHEDULED_TRANSACTION);
+        EXPLAINED_QUERIES.put("scheduledTransactionNameExists", COUNT_SCHEDULES_NAMED);
+    }
+
+    /**
+     * Checks out a pooled connection to the SQLite database.
+     * Closing the connection returns it to the shared {@link ConnectionPool}.
      * @return a Connection object to the database.
      * @throws SQLException if a database access error occurs.
      */
     private Connection connect() throws SQLException {
-        return DriverManager.getConnection(DB_URL);
+        return CleverCashDatabase.connect();
     }
 
     /**
-     * Constructor that initializes the database by creating the transactions,
-     * scheduled transactions, and transaction types tables if they do not exist.
+     * The schema of the former 'transactions.db', which {@link CleverCashDatabase} applies to an old file
+     * before importing it. Databases written before the schema version was tracked are all at version 0
+     * whatever their shape, so these migrations check what they need to do instead of assuming the
+     * previous version. The list is frozen; schema changes go to {@link CleverCashDatabase}.
+     */
+    static final List<SchemaManager.Migration> LEGACY_MIGRATIONS = List.of(
+            TransactionDatabase::createTables,                  // 1
+            TransactionDatabase::migrateAmountsToCents,         // 2
+            TransactionDatabase::migrateDatesToEpochDays,       // 3
+            TransactionDatabase::migrateTransactionTypesToIds,  // 4
+            TransactionDatabase::createTransactionIndexes,      // 5
+            TransactionDatabase::createTransactionViews,        // 6
+            TransactionDatabase::createTransactionSearchIndex,  // 7
+            TransactionDatabase::createMonthlyRollups,          // 8
+            TransactionDatabase::createBalanceCheckpoints,      // 9
+            TransactionDatabase::migrateScheduledPostingDates   // 10
+    );
+
+    /**
+     * Creates a DAO for 'clevercash.db'. The first DAO created in the process brings the schema up to date.
      */
     public TransactionDatabase() {
-        createTransactionTable();
-        createScheduledTransactionTable();
-        createTransactionTypeTable();
-        // Do not clear transaction types here
+        CleverCashDatabase.migrate();
+        runStartupTasks();
     }
 
     /**
-     * Creates the 'transactions' table if it does not exist.
+     * Runs the startup work asked for with system properties, once per process. Static, so it never
+     * calls into a DAO that is still being constructed.
      */
-    private void createTransactionTable() {
-        String sql = """
-            CREATE TABLE IF NOT EXISTS transactions (
-                id INTEGER PRIMARY KEY AUTOINCREMENT,
-                account TEXT NOT NULL,
-                transactionType TEXT NOT NULL,
-                transactionDate TEXT NOT NULL,
-                transactionDescription TEXT,
-                paymentAmount REAL,
-                depositAmount REAL
-            );
-            """;
+    private static void runStartupTasks() {
+        if (!STARTED.compareAndSet(false, true)) {
+            return;
+        }
+
+        if (Boolean.getBoolean(REBUILD_ROLLUPS_PROPERTY)) {
+            try (Connection conn = CleverCashDatabase.connect();
+                 Statement stmt = conn.createStatement()) {
+                conn.setAutoCommit(false);
+                rebuildMonthlyRollups(stmt);
+                rebuildBalanceCheckpoints(stmt);
+                conn.commit();
+            } catch (SQLException e) {
+                System.err.println("Failed to rebuild the monthly rollups and balance checkpoints.");
+                e.printStackTrace();
+            }
+        }
+        if (Boolean.getBoolean(EXPLAIN_PROPERTY)) {
+            printQueryPlans();
+        }
+    }
+
+    /**
+     * Creates the 'transaction_types', 'transactions' and 'scheduled_transactions' tables if they do not exist.
+     * No default transaction types are inserted.
+     */
+    static void createTables(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(TRANSACTION_TYPES_TABLE.formatted("transaction_types"));
+            stmt.execute(TRANSACTIONS_TABLE.formatted("transactions"));
+            stmt.execute(SCHEDULED_TRANSACTIONS_TABLE.formatted("scheduled_transactions"));
+        }
+    }
+
+    /**
+     * Converts databases created before amounts were stored as cents. SQLite cannot change a column's type
+     * in place, so each table still holding REAL amounts is copied into a new table with INTEGER cents
+     * columns, rounding to the nearest cent, and swapped in. Both tables are converted in one transaction.
+     */
+    private static void migrateAmountsToCents(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            boolean transactionsUseReal = hasColumn(conn, "transactions", "paymentAmount");
+            boolean scheduledUseReal = hasColumn(conn, "scheduled_transactions", "paymentAmount");
+            if (!transactionsUseReal && !scheduledUseReal) {
+                return;
+            }
+
+            if (transactionsUseReal) {
+                // Later migrations convert the date and type columns, so the copy keeps their old definitions
+                rebuildTable(stmt, "transactions", """
+                    CREATE TABLE transactions_new (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        account TEXT NOT NULL,
+                        transactionType TEXT NOT NULL,
+                        transactionDate TEXT NOT NULL,
+                        transactionDescription TEXT,
+                        paymentCents INTEGER NOT NULL DEFAULT 0,
+                        depositCents INTEGER NOT NULL DEFAULT 0
+                    )
+                    """, """
+                    INSERT INTO transactions_new (id, account, transactionType, transactionDate, transactionDescription, paymentCents, depositCents)
+                    SELECT id, account, transactionType, transactionDate, transactionDescription,
+                           CAST(ROUND(IFNULL(paymentAmount, 0) * 100) AS INTEGER),
+                           CAST(ROUND(IFNULL(depositAmount, 0) * 100) AS INTEGER)
+                    FROM transactions
+                    """);
+            }
+            if (scheduledUseReal) {
+                rebuildTable(stmt, "scheduled_transactions",
+                        SCHEDULED_TRANSACTIONS_TABLE.formatted("scheduled_transactions_new"), """
+                    INSERT INTO scheduled_transactions_new (ROWID, scheduleName, account, transactionType, frequency, dueDate, paymentCents)
+                    SELECT ROWID, scheduleName, account, transactionType, frequency, dueDate,
+                           CAST(ROUND(IFNULL(paymentAmount, 0) * 100) AS INTEGER)
+                    FROM scheduled_transactions
+                    """);
+            }
+            System.out.println("Migrated transaction amounts to integer cents.");
+        }
+    }
+
+    /**
+     * Converts 'transactions.transactionDate' from ISO-8601 text to epoch days, so date ranges are
+     * integer comparisons on the index and rows are hydrated without parsing text. Rows whose date
+     * cannot be read are moved, unchanged, to 'transactions_unparseable_dates' and counted, since the
+     * new NOT NULL column would otherwise reject them and roll the whole migration back.
+     */
+    private static void migrateDatesToEpochDays(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            if (!"TEXT".equalsIgnoreCase(columnType(conn, "transactions", "transactionDate"))) {
+                return;
+            }
+
+            int unparseable;
+            try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM transactions WHERE julianday(transactionDate) IS NULL")) {
+                unparseable = rs.next() ? rs.getInt(1) : 0;
+            }
+            if (unparseable > 0) {
+                stmt.execute("CREATE TABLE IF NOT EXISTS transactions_unparseable_dates AS SELECT * FROM transactions WHERE 0");
+                stmt.execute("INSERT INTO transactions_unparseable_dates SELECT * FROM transactions WHERE julianday(transactionDate) IS NULL");
+                stmt.execute("DELETE FROM transactions WHERE julianday(transactionDate) IS NULL");
+                System.err.println(unparseable + " transactions have a date that could not be read and were moved to "
+                        + "the transactions_unparseable_dates table instead of being migrated.");
+            }
+
+            // julianday() of 1970-01-01 is 2440587.5, so the difference is the whole number of days since the epoch
+            rebuildTable(stmt, "transactions", """
+                CREATE TABLE transactions_new (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    account TEXT NOT NULL,
+                    transactionType TEXT NOT NULL,
+                    transactionDate INTEGER NOT NULL,
+                    transactionDescription TEXT,
+                    paymentCents INTEGER NOT NULL DEFAULT 0,
+                    depositCents INTEGER NOT NULL DEFAULT 0
+                )
+                """, """
+                INSERT INTO transactions_new (id, account, transactionType, transactionDate, transactionDescription, paymentCents, depositCents)
+                SELECT id, account, transactionType, CAST(julianday(transactionDate) - 2440587.5 AS INTEGER),
+                       transactionDescription, paymentCents, depositCents
+                FROM transactions
+                """);
+            System.out.println("Migrated transaction dates to epoch days.");
+        }
+    }
 
+    /**
+     * Replaces the transactionType text column of 'transactions' with a typeId foreign key to
+     * 'transaction_types', giving that table an explicit id first. Types used by transactions but
+     * missing from 'transaction_types' are added so every row keeps its type.
+     */
+    private static void migrateTransactionTypesToIds(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            boolean typesNeedIds = !hasColumn(conn, "transaction_types", "id");
+            boolean transactionsUseText = hasColumn(conn, "transactions", "transactionType");
+            if (!typesNeedIds && !transactionsUseText) {
+                return;
+            }
+
+            if (typesNeedIds) {
+                rebuildTable(stmt, "transaction_types", TRANSACTION_TYPES_TABLE.formatted("transaction_types_new"),
+                        "INSERT INTO transaction_types_new (id, type) SELECT ROWID, type FROM transaction_types");
+            }
+            if (transactionsUseText) {
+                stmt.execute("INSERT OR IGNORE INTO transaction_types (type) SELECT DISTINCT transactionType FROM transactions");
+                rebuildTable(stmt, "transactions", TRANSACTIONS_TABLE.formatted("transactions_new"), """
+                    INSERT INTO transactions_new (id, account, typeId, transactionDate, transactionDescription, paymentCents, depositCents)
+                    SELECT t.id, t.account, tt.id, t.transactionDate, t.transactionDescription, t.paymentCents, t.depositCents
+                    FROM transactions t JOIN transaction_types tt ON tt.type = t.transactionType
+                    """);
+            }
+            System.out.println("Migrated transaction types to foreign keys.");
+        }
+    }
+
+    /**
+     * Adds 'scheduled_transactions.lastPostedDate' to databases created before schedules were posted as
+     * transactions. Schedules without a date start from the end of last month, so this month's due dates
+     * that have passed are posted, which is what the dashboard used to count for them. Also indexes
+     * scheduled transactions by due date for the due alerts.
+     */
+    static void migrateScheduledPostingDates(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            if (!hasColumn(conn, "scheduled_transactions", "lastPostedDate")) {
+                stmt.execute("ALTER TABLE scheduled_transactions ADD COLUMN lastPostedDate INTEGER");
+                System.out.println("Added posting dates to scheduled transactions.");
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "UPDATE scheduled_transactions SET lastPostedDate = ? WHERE lastPostedDate IS NULL")) {
+                pstmt.setLong(1, firstPostingDate(LocalDate.now()));
+                pstmt.executeUpdate();
+            }
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_scheduled_transactions_due ON scheduled_transactions (dueDate)");
+        }
+    }
+
+    // A new schedule is posted from the start of the current month
+    private static long firstPostingDate(LocalDate today) {
+        return today.withDayOfMonth(1).minusDays(1).toEpochDay();
+    }
+
+    /**
+     * Replaces a table with a copy built by the given statements. Indexes on the old table are dropped
+     * with it, and so are its triggers; the view is dropped first, since a rename fails while a view refers
+     * to a missing table. Migrations 2 to 4 run before the indexes, view and triggers are created; a later
+     * migration that rebuilds a table must recreate them itself. Must run inside a transaction.
+     */
+    private static void rebuildTable(Statement stmt, String table, String createCopy, String copyRows) throws SQLException {
+        stmt.execute("DROP VIEW IF EXISTS transaction_rows");
+        stmt.execute("DROP TABLE IF EXISTS " + table + "_new");
+        stmt.execute(createCopy);
+        stmt.execute(copyRows);
+        stmt.execute("DROP TABLE " + table);
+        stmt.execute("ALTER TABLE " + table + "_new RENAME TO " + table);
+    }
+
+    /**
+     * Gets the declared type of a column.
+     * @return the declared type, or null if the table has no such column.
+     */
+    private static String columnType(Connection conn, String table, String column) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT type FROM pragma_table_info(?) WHERE name = ?")) {
+            pstmt.setString(1, table);
+            pstmt.setString(2, column);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Checks whether a table has a column with the given name.
+     */
+    private static boolean hasColumn(Connection conn, String table, String column) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT COUNT(*) FROM pragma_table_info(?) WHERE name = ?")) {
+            pstmt.setString(1, table);
+            pstmt.setString(2, column);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0;
+            }
+        }
+    }
+
+    /**
+     * Creates the secondary indexes on 'transactions' that match the access paths used by the controllers:
+     * per account and per transaction type (both ordered by date), and by date alone for the full listing.
+     */
+    static void createTransactionIndexes(Connection conn) throws SQLException {
+        String[] indexes = {
+            "CREATE INDEX IF NOT EXISTS idx_transactions_account_date ON transactions (account, transactionDate)",
+            "CREATE INDEX IF NOT EXISTS idx_transactions_type_date ON transactions (typeId, transactionDate)",
+            "CREATE INDEX IF NOT EXISTS idx_transactions_date ON transactions (transactionDate)"
+        };
+
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : indexes) {
+                stmt.execute(sql);
+            }
+        }
+    }
+
+    /**
+     * Creates the 'transaction_rows' view that the read queries select from.
+     */
+    static void createTransactionViews(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(TRANSACTION_ROWS_VIEW);
+        }
+    }
+
+    /**
+     * Creates the 'transactions_fts' full-text index over transaction descriptions and the triggers
+     * that keep it in step with every insert, update and delete. It is an external-content FTS5 table,
+     * so descriptions are not stored twice. The index is rebuilt from 'transactions' whenever the
+     * triggers are missing: on first run, and after a migration has rebuilt the table (which drops them).
+     */
+    static void createTransactionSearchIndex(Connection conn) throws SQLException {
+        String[] triggers = {
+            """
+            CREATE TRIGGER IF NOT EXISTS transactions_fts_insert AFTER INSERT ON transactions BEGIN
+                INSERT INTO transactions_fts (rowid, transactionDescription) VALUES (new.id, new.transactionDescription);
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS transactions_fts_delete AFTER DELETE ON transactions BEGIN
+                INSERT INTO transactions_fts (transactions_fts, rowid, transactionDescription) VALUES ('delete', old.id, old.transactionDescription);
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS transactions_fts_update AFTER UPDATE OF transactionDescription ON transactions BEGIN
+                INSERT INTO transactions_fts (transactions_fts, rowid, transactionDescription) VALUES ('delete', old.id, old.transactionDescription);
+                INSERT INTO transactions_fts (rowid, transactionDescription) VALUES (new.id, new.transactionDescription);
+            END
+            """
+        };
+
+        try (Statement stmt = conn.createStatement()) {
+            boolean inSync;
+            try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM sqlite_master WHERE type = 'trigger' AND name LIKE 'transactions_fts_%'")) {
+                inSync = rs.next() && rs.getInt(1) == triggers.length;
+            }
+
+            // Prefix indexes on 2 and 3 characters keep search-as-you-type queries off the full term list
+            stmt.execute("""
+                CREATE VIRTUAL TABLE IF NOT EXISTS transactions_fts USING fts5(
+                    transactionDescription,
+                    content = 'transactions', content_rowid = 'id',
+                    tokenize = 'unicode61 remove_diacritics 2', prefix = '2 3'
+                )
+                """);
+            for (String trigger : triggers) {
+                stmt.execute(trigger);
+            }
+            if (!inSync) {
+                stmt.execute("INSERT INTO transactions_fts (transactions_fts) VALUES ('rebuild')");
+            }
+        }
+    }
+
+    /**
+     * Creates the 'monthly_rollups' table and the triggers that apply every insert, update and delete
+     * on 'transactions' to it, so dashboard totals read one row per month, account and type instead of
+     * every transaction. Like the search index, the rollups are rebuilt whenever the triggers are missing.
+     */
+    static void createMonthlyRollups(Connection conn) throws SQLException {
+        String[] triggers = {
+            "CREATE TRIGGER IF NOT EXISTS monthly_rollups_insert AFTER INSERT ON transactions BEGIN\n"
+                    + ROLLUP_ADD_NEW + "END",
+            "CREATE TRIGGER IF NOT EXISTS monthly_rollups_delete AFTER DELETE ON transactions BEGIN\n"
+                    + ROLLUP_REMOVE_OLD + "END",
+            // Description edits do not change any sum, so they do not fire this trigger
+            "CREATE TRIGGER IF NOT EXISTS monthly_rollups_update "
+                    + "AFTER UPDATE OF account, typeId, transactionDate, paymentCents, depositCents ON transactions BEGIN\n"
+                    + ROLLUP_REMOVE_OLD + ROLLUP_ADD_NEW + "END"
+        };
+
+        try (Statement stmt = conn.createStatement()) {
+            boolean inSync;
+            try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM sqlite_master WHERE type = 'trigger' AND name LIKE 'monthly_rollups_%'")) {
+                inSync = rs.next() && rs.getInt(1) == triggers.length;
+            }
+
+            stmt.execute(MONTHLY_ROLLUPS_TABLE);
+            for (String trigger : triggers) {
+                stmt.execute(trigger);
+            }
+            if (!inSync) {
+                rebuildMonthlyRollups(stmt);
+            }
+        }
+    }
+
+    /**
+     * Recomputes 'monthly_rollups' from every transaction, in case the rollups and the ledger have drifted
+     * apart, e.g. after rows were edited with the triggers dropped.
+     * @throws SQLException if a database access error occurs; the old rollups are kept.
+     */
+    public void rebuildMonthlyRollups() throws SQLException {
         try (Connection conn = connect();
              Statement stmt = conn.createStatement()) {
-            stmt.execute(sql);
-        } catch (SQLException e) {
-            e.printStackTrace();
+            conn.setAutoCommit(false);
+            rebuildMonthlyRollups(stmt);
+            conn.commit();
         }
     }
 
+    private static void rebuildMonthlyRollups(Statement stmt) throws SQLException {
+        stmt.execute("DELETE FROM monthly_rollups");
+        int rows = stmt.executeUpdate(REBUILD_MONTHLY_ROLLUPS);
+        System.out.println("Rebuilt " + rows + " monthly rollups.");
+    }
+
     /**
-     * Creates the 'scheduled_transactions' table if it does not exist.
+     * Creates the 'balance_checkpoints' table and the triggers that keep it current on every insert,
+     * update and delete. Rebuilt from the ledger whenever the triggers are missing.
      */
-    private void createScheduledTransactionTable() {
-        String sql = """
-            CREATE TABLE IF NOT EXISTS scheduled_transactions (
-                scheduleName TEXT UNIQUE NOT NULL,
-                account TEXT NOT NULL,
-                transactionType TEXT NOT NULL,
-                frequency TEXT NOT NULL,
-                dueDate INTEGER NOT NULL,
-                paymentAmount REAL NOT NULL
-            );
-            """;
+    static void createBalanceCheckpoints(Connection conn) throws SQLException {
+        String[] triggers = {
+            "CREATE TRIGGER IF NOT EXISTS balance_checkpoints_insert AFTER INSERT ON transactions BEGIN\n"
+                    + CHECKPOINT_ADD_NEW + "END",
+            "CREATE TRIGGER IF NOT EXISTS balance_checkpoints_delete AFTER DELETE ON transactions BEGIN\n"
+                    + CHECKPOINT_REMOVE_OLD + "END",
+            "CREATE TRIGGER IF NOT EXISTS balance_checkpoints_update "
+                    + "AFTER UPDATE OF account, transactionDate, paymentCents, depositCents ON transactions BEGIN\n"
+                    + CHECKPOINT_REMOVE_OLD + CHECKPOINT_ADD_NEW + "END"
+        };
+
+        try (Statement stmt = conn.createStatement()) {
+            boolean inSync;
+            try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM sqlite_master WHERE type = 'trigger' AND name LIKE 'balance_checkpoints_%'")) {
+                inSync = rs.next() && rs.getInt(1) == triggers.length;
+            }
+
+            stmt.execute(BALANCE_CHECKPOINTS_TABLE);
+            for (String trigger : triggers) {
+                stmt.execute(trigger);
+            }
+            if (!inSync) {
+                rebuildBalanceCheckpoints(stmt);
+            }
+        }
+    }
 
+    /**
+     * Recomputes 'balance_checkpoints' from every transaction.
+     * @throws SQLException if a database access error occurs; the old checkpoints are kept.
+     */
+    public void rebuildBalanceCheckpoints() throws SQLException {
         try (Connection conn = connect();
              Statement stmt = conn.createStatement()) {
-            stmt.execute(sql);
+            conn.setAutoCommit(false);
+            rebuildBalanceCheckpoints(stmt);
+            conn.commit();
+        }
+    }
+
+    private static void rebuildBalanceCheckpoints(Statement stmt) throws SQLException {
+        stmt.execute("DELETE FROM balance_checkpoints");
+        int rows = stmt.executeUpdate(REBUILD_BALANCE_CHECKPOINTS);
+        System.out.println("Rebuilt " + rows + " balance checkpoints.");
+    }
+
+    /**
+     * Computes an account's balance at the end of the given date: its opening balance plus deposits minus
+     * payments, in cents. Reads one checkpoint and at most a month of transactions, however long the history.
+     * @param account the account name.
+     * @param asOf    the last date to include.
+     * @return the balance in cents; an account that does not exist starts at zero.
+     */
+    public long getBalanceCents(String account, LocalDate asOf) {
+        try (Connection conn = connect();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_BALANCE_THROUGH)) {
+            return balanceThrough(pstmt, account, asOf.toEpochDay(), Integer.MAX_VALUE);
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        return 0;
     }
 
     /**
-     * Creates the 'transaction_types' table if it does not exist.
+     * Computes every account's balance at the end of the given date with one query, as
+     * {@link #getBalanceCents(String, LocalDate)} does for a single account.
+     * @param asOf the last date to include.
+     * @return balances in cents by account name.
      */
-    private void createTransactionTypeTable() {
-        String sql = """
-            CREATE TABLE IF NOT EXISTS transaction_types (
-                type TEXT UNIQUE NOT NULL
-            );
-            """;
+    public Map<String, Long> getAccountBalances(LocalDate asOf) {
+        Map<String, Long> balances = new HashMap<>();
+        try (Connection conn = connect();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_ACCOUNT_BALANCES)) {
+            pstmt.setLong(1, asOf.toEpochDay());
+            pstmt.setLong(2, asOf.toEpochDay());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    balances.put(rs.getString("name"), rs.getLong("balanceCents"));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Failed to compute account balances.");
+            e.printStackTrace();
+        }
+        return balances;
+    }
+
+    /**
+     * Sets the running balance of each transaction's account just after that transaction,
+     * starting from the account's opening balance and ordering transactions on the same date by id.
+     * One query covers the whole date range of the list, so a page of the Transactions table costs
+     * one checkpoint lookup per account on it rather than one balance query per row.
+     * @param transactions the transactions to fill in, e.g. one page of the Transactions table.
+     */
+    public void fillRunningBalances(List<TransactionBean> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        TransactionBean first = transactions.get(0);
+        TransactionBean last = first;
+        Map<Integer, TransactionBean> byId = new HashMap<>();
+        for (TransactionBean transaction : transactions) {
+            byId.put(transaction.getId(), transaction);
+            if (comparePosition(transaction, first) < 0) {
+                first = transaction;
+            }
+            if (comparePosition(transaction, last) > 0) {
+                last = transaction;
+            }
+        }
 
         try (Connection conn = connect();
-             Statement stmt = conn.createStatement()) {
-            stmt.execute(sql);
-            // No default transaction types are inserted
-            // Do not clear transaction types here
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_RUNNING_BALANCES)) {
+            pstmt.setLong(1, first.getTransactionEpochDay());
+            pstmt.setInt(2, first.getId());
+            pstmt.setLong(3, last.getTransactionEpochDay());
+            pstmt.setInt(4, last.getId());
+            pstmt.setLong(5, first.getTransactionEpochDay());
+            pstmt.setLong(6, first.getTransactionEpochDay());
+            pstmt.setLong(7, first.getTransactionEpochDay());
+            pstmt.setInt(8, first.getId());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    TransactionBean transaction = byId.get(rs.getInt("id"));
+                    if (transaction != null) {
+                        transaction.setBalanceCents(rs.getLong("balanceCents"));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // Orders transactions by (transactionDate, id), oldest first
+    private static int comparePosition(TransactionBean a, TransactionBean b) {
+        int byDate = Long.compare(a.getTransactionEpochDay(), b.getTransactionEpochDay());
+        return byDate != 0 ? byDate : Integer.compare(a.getId(), b.getId());
+    }
+
+    private static long balanceThrough(PreparedStatement pstmt, String account, long epochDay, int id) throws SQLException {
+        pstmt.setString(1, account);
+        pstmt.setLong(2, epochDay);
+        pstmt.setString(3, account);
+        pstmt.setString(4, account);
+        pstmt.setLong(5, epochDay);
+        pstmt.setInt(6, id);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getLong("balanceCents") : 0;
+        }
+    }
+
+    /**
+     * Prints the EXPLAIN QUERY PLAN output for every DAO query so that full scans and
+     * temporary sort steps show up when the schema or a query changes.
+     * Runs automatically at startup when the {@value #EXPLAIN_PROPERTY} system property is true.
+     */
+    public void explainQueryPlans() {
+        printQueryPlans();
+    }
+
+    private static void printQueryPlans() {
+        try (Connection conn = CleverCashDatabase.connect()) {
+            for (Map.Entry<String, String> entry : EXPLAINED_QUERIES.entrySet()) {
+                System.out.println("EXPLAIN QUERY PLAN " + entry.getKey() + ": " + entry.getValue());
+                try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + entry.getValue());
+                     ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        System.out.println("    " + rs.getString("detail"));
+                    }
+                }
+            }
         } catch (SQLException e) {
+            System.err.println("Failed to explain query plans.");
             e.printStackTrace();
         }
     }
 
+    /**
+     * Adds a transaction type if it is not stored yet, so a transaction row can reference its id.
+     * @return true if the type was added; the caller invalidates the type cache once the insert is committed.
+     */
+    private static boolean ensureTransactionType(Connection conn, String type) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(ENSURE_TRANSACTION_TYPE)) {
+            pstmt.setString(1, type);
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+
+    // Called once an added type is committed: drops the cached names and tells pages listing types
+    private static void transactionTypesAdded() {
+        TRANSACTION_TYPES.invalidate();
+        EventBus.publish(new TransactionTypeChangeEvent());
+    }
+
     /**
      * Adds a new transaction type to the 'transaction_types' table.
      * @param type the name of the transaction type to add.
      */
     public void addTransactionType(String type) {
-        String sql = "INSERT INTO transaction_types (type) VALUES (?)";
         try (Connection conn = connect();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_TRANSACTION_TYPE)) {
             pstmt.setString(1, type);
             pstmt.executeUpdate();
+            transactionTypesAdded();
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -125,12 +970,8 @@ public class TransactionDatabase {
      * @return true if the transaction type exists, false otherwise.
      */
     public boolean transactionTypeExists(String type) {
-        String sql = "SELECT COUNT(*) FROM transaction_types WHERE type = ?";
-        try (Connection conn = connect();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, type);
-            ResultSet rs = pstmt.executeQuery();
-            return rs.getInt(1) > 0;
+        try {
+            return cachedTransactionTypes().contains(type);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -139,36 +980,46 @@ public class TransactionDatabase {
 
     /**
      * Retrieves all transaction types from the 'transaction_types' table.
-     * @return an ObservableList of transaction type names.
+     * Served from memory after the first call until a type is added.
+     * @return a new ObservableList of transaction type names, which the caller may modify.
      */
     public ObservableList<String> getAllTransactionTypes() {
-        ObservableList<String> types = FXCollections.observableArrayList();
-        String sql = "SELECT type FROM transaction_types ORDER BY type ASC";
+        try {
+            return FXCollections.observableArrayList(cachedTransactionTypes());
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return FXCollections.observableArrayList();
+    }
+
+    private List<String> cachedTransactionTypes() throws SQLException {
+        return TRANSACTION_TYPES.get(this::loadTransactionTypes);
+    }
+
+    private List<String> loadTransactionTypes() throws SQLException {
+        List<String> types = new ArrayList<>();
         try (Connection conn = connect();
              Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             ResultSet rs = stmt.executeQuery(SELECT_TRANSACTION_TYPES)) {
             while (rs.next()) {
-                types.add(rs.getString("type"));
+                types.add(SymbolTable.intern(rs.getString("type")));
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
         return types;
     }
 
     /**
-     * Retrieves a map of transaction types to the total amount spent for each type.
-     * @return a Map with transaction type names as keys and total amounts as values.
+     * Retrieves a map of transaction types to the total amount spent for each type, summed from the monthly rollups.
+     * @return a Map with transaction type names as keys and total payments in cents as values.
      */
-    public Map<String, Double> getTransactionTypeAmounts() {
-        Map<String, Double> dataMap = new HashMap<>();
-        String sql = "SELECT transactionType, SUM(paymentAmount) as totalAmount FROM transactions GROUP BY transactionType";
+    public Map<String, Long> getTransactionTypeAmounts() {
+        Map<String, Long> dataMap = new HashMap<>();
         try (Connection conn = connect();
              Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             ResultSet rs = stmt.executeQuery(SELECT_TRANSACTION_TYPE_AMOUNTS)) {
             while (rs.next()) {
                 String type = rs.getString("transactionType");
-                double amount = rs.getDouble("totalAmount");
+                long amount = rs.getLong("totalCents");
                 dataMap.put(type, amount);
             }
         } catch (SQLException e) {
@@ -177,27 +1028,250 @@ public class TransactionDatabase {
         return dataMap;
     }
 
+    /**
+     * Computes the Home dashboard figures in one aggregate query over 'monthly_rollups': transaction and
+     * scheduled transaction counts, the given month's income and expenses, and net expenses for every month.
+     * @param today the date that determines the current month.
+     * @return a DashboardSnapshot of the current data.
+     */
+    public DashboardSnapshot getDashboardSnapshot(LocalDate today) {
+        YearMonth currentMonth = YearMonth.from(today);
+        int scheduledTransactionCount = 0;
+        long currentMonthIncome = 0;
+        long currentMonthExpenses = 0;
+        NavigableMap<YearMonth, Long> monthlyNetExpenses = new TreeMap<>();
+        NavigableMap<YearMonth, Integer> monthlyCounts = new TreeMap<>();
+
+        try (Connection conn = connect();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SELECT_DASHBOARD_AGGREGATES)) {
+            while (rs.next()) {
+                String monthText = rs.getString("month");
+                int rowCount = rs.getInt("rowCount");
+                if (monthText == null) {
+                    scheduledTransactionCount = rowCount;
+                    continue;
+                }
+
+                YearMonth month = YearMonth.parse(monthText);
+                monthlyCounts.put(month, rowCount);
+                monthlyNetExpenses.put(month, rs.getLong("net"));
+                if (month.equals(currentMonth)) {
+                    currentMonthIncome = rs.getLong("deposits");
+                    currentMonthExpenses = rs.getLong("payments");
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new DashboardSnapshot(currentMonth, scheduledTransactionCount, currentMonthIncome,
+                currentMonthExpenses, monthlyNetExpenses, monthlyCounts);
+    }
+
+    /**
+     * Sums net expenses (payments minus deposits) into buckets of the given granularity. Days and weeks
+     * are summed per day in SQL over the date index; months, quarters and years are read from
+     * 'monthly_rollups', so even a long history costs at most one row per month, account and type.
+     * @param granularity the bucket size.
+     * @param from        the first date to cover; widened to the start of its bucket.
+     * @param to          the last date to cover, inclusive; widened to the end of its bucket.
+     * @return a series with a bucket, possibly zero, for every bucket in the range.
+     */
+    public TimeSeries getNetExpenseSeries(Granularity granularity, LocalDate from, LocalDate to) {
+        TimeSeries series = new TimeSeries(granularity, from, to);
+        LocalDate first = granularity.bucketStart(from);
+        LocalDate last = granularity.nextBucket(granularity.bucketStart(to)).minusDays(1);
+        boolean daily = granularity == Granularity.DAY || granularity == Granularity.WEEK;
+
+        try (Connection conn = connect();
+             PreparedStatement pstmt = conn.prepareStatement(daily ? SELECT_DAILY_NET_EXPENSES : SELECT_MONTHLY_NET_EXPENSES)) {
+            if (daily) {
+                pstmt.setLong(1, first.toEpochDay());
+                pstmt.setLong(2, last.toEpochDay());
+            } else {
+                pstmt.setInt(1, first.getYear());
+                pstmt.setInt(2, first.getMonthValue());
+                pstmt.setInt(3, last.getYear());
+                pstmt.setInt(4, last.getMonthValue());
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    LocalDate date = daily
+                            ? LocalDate.ofEpochDay(rs.getLong("transactionDate"))
+                            : LocalDate.of(rs.getInt("year"), rs.getInt("month"), 1);
+                    series.add(date, rs.getLong("net"));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return series;
+    }
+
     /**
      * Adds a new transaction to the 'transactions' table.
      * @param transaction the TransactionBean object containing transaction details.
      */
     public void addTransaction(TransactionBean transaction) {
-        String sql = "INSERT INTO transactions (account, transactionType, transactionDate, transactionDescription, paymentAmount, depositAmount) VALUES (?, ?, ?, ?, ?, ?)";
-
         try (Connection conn = connect();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_TRANSACTION, Statement.RETURN_GENERATED_KEYS)) {
+            if (ensureTransactionType(conn, transaction.getTransactionType())) {
+                transactionTypesAdded();
+            }
             pstmt.setString(1, transaction.getAccount());
             pstmt.setString(2, transaction.getTransactionType());
-            pstmt.setString(3, transaction.getTransactionDate().toString());
+            pstmt.setLong(3, transaction.getTransactionEpochDay());
             pstmt.setString(4, transaction.getTransactionDescription());
-            pstmt.setDouble(5, transaction.getPaymentAmount() != null ? transaction.getPaymentAmount() : 0);
-            pstmt.setDouble(6, transaction.getDepositAmount() != null ? transaction.getDepositAmount() : 0);
+            pstmt.setLong(5, transaction.getPaymentCents());
+            pstmt.setLong(6, transaction.getDepositCents());
             pstmt.executeUpdate();
+
+            int id = -1;
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    id = keys.getInt(1);
+                }
+            }
+            EventBus.publish(TransactionChangeEvent.added(new TransactionBean(id, transaction.getAccount(),
+                    transaction.getTransactionType(), transaction.getTransactionEpochDay(),
+                    transaction.getTransactionDescription(), transaction.getPaymentCents(), transaction.getDepositCents())));
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Adds many transactions in a single database transaction using JDBC batching.
+     * Either all rows are stored or, if any insert fails, none are.
+     * @param transactions the transactions to add.
+     * @return the number of transactions added.
+     * @throws SQLException if a database access error occurs; the whole batch is rolled back.
+     */
+    public int addTransactions(Iterable<TransactionBean> transactions) throws SQLException {
+        return addTransactions(transactions, true);
+    }
+
+    /**
+     * Adds many transactions in a single database transaction, like {@link #addTransactions(Iterable)}.
+     * @param transactions the transactions to add.
+     * @param publish      whether to publish a TransactionBatchAddedEvent for them; a caller writing
+     *                     several batches can pass false and publish one event when it is done.
+     * @return the number of transactions added.
+     * @throws SQLException if a database access error occurs; the whole batch is rolled back.
+     */
+    public int addTransactions(Iterable<TransactionBean> transactions, boolean publish) throws SQLException {
+        List<TransactionBean> added = new ArrayList<>();
+        boolean typesAdded;
+
+        try (Connection conn = connect()) {
+            conn.setAutoCommit(false);
+            typesAdded = insertTransactions(conn, transactions, added);
+            conn.commit();
+        }
+        if (typesAdded) {
+            transactionTypesAdded();
+        }
+
+        if (publish && !added.isEmpty()) {
+            EventBus.publish(new TransactionBatchAddedEvent(added));
+        }
+        return added.size();
+    }
+
+    /**
+     * Inserts transactions with JDBC batching on a connection whose transaction the caller commits.
+     * @param added receives each transaction as it is queued.
+     * @return true if a transaction type was added; invalidate the type cache after committing.
+     */
+    private static boolean insertTransactions(Connection conn, Iterable<TransactionBean> transactions,
+                                              List<TransactionBean> added) throws SQLException {
+        Set<String> knownTypes = new HashSet<>();
+        boolean typesAdded = false;
+
+        try (PreparedStatement pstmt = conn.prepareStatement(INSERT_TRANSACTION)) {
+            int pending = 0;
+            for (TransactionBean transaction : transactions) {
+                // Each type's row must exist before a batched insert looks up its id
+                if (knownTypes.add(transaction.getTransactionType())) {
+                    typesAdded |= ensureTransactionType(conn, transaction.getTransactionType());
+                }
+                pstmt.setString(1, transaction.getAccount());
+                pstmt.setString(2, transaction.getTransactionType());
+                pstmt.setLong(3, transaction.getTransactionEpochDay());
+                pstmt.setString(4, transaction.getTransactionDescription());
+                pstmt.setLong(5, transaction.getPaymentCents());
+                pstmt.setLong(6, transaction.getDepositCents());
+                pstmt.addBatch();
+                added.add(transaction);
+
+                // Flush periodically so the driver does not buffer an unbounded batch
+                if (++pending == INSERT_BATCH_SIZE) {
+                    pstmt.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                pstmt.executeBatch();
+            }
+        }
+        return typesAdded;
+    }
+
+    /**
+     * Posts every occurrence of every schedule that has fallen due since it was last posted, up to and
+     * including the given day, as a payment described by the schedule's name. The transactions and the
+     * schedules' new posting dates are written in one database transaction, so a catch-up that fails
+     * posts nothing and one that is repeated posts nothing twice.
+     * @param today the last day to post.
+     * @return the number of transactions posted.
+     * @throws SQLException if a database access error occurs; nothing is posted.
+     */
+    public int postDueScheduledTransactions(LocalDate today) throws SQLException {
+        List<TransactionBean> added = new ArrayList<>();
+        boolean typesAdded;
+
+        try (Connection conn = connect()) {
+            conn.setAutoCommit(false);
+            Map<ScheduledTransactionBean, Long> schedules = new LinkedHashMap<>();
+            try (PreparedStatement pstmt = conn.prepareStatement(SELECT_SCHEDULES_TO_POST)) {
+                pstmt.setLong(1, today.toEpochDay());
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        schedules.put(mapScheduledTransaction(rs), rs.getLong("lastPostedDate"));
+                    }
+                }
+            }
+
+            List<TransactionBean> due = new ArrayList<>();
+            try (PreparedStatement pstmt = conn.prepareStatement(MARK_SCHEDULE_POSTED)) {
+                for (Map.Entry<ScheduledTransactionBean, Long> entry : schedules.entrySet()) {
+                    ScheduledTransactionBean schedule = entry.getKey();
+                    pstmt.setLong(1, today.toEpochDay());
+                    pstmt.setString(2, schedule.getScheduleName());
+                    pstmt.setLong(3, entry.getValue());
+                    if (pstmt.executeUpdate() == 0) {
+                        continue; // Posted by a concurrent catch-up
+                    }
+                    for (LocalDate date : schedule.dueDatesBetween(LocalDate.ofEpochDay(entry.getValue()), today)) {
+                        due.add(new TransactionBean(schedule.getAccount(), schedule.getTransactionType(), date,
+                                schedule.getScheduleName(), schedule.getPaymentCents(), 0));
+                    }
+                }
+            }
+
+            typesAdded = insertTransactions(conn, due, added);
+            conn.commit();
+        }
+        if (typesAdded) {
+            transactionTypesAdded();
+        }
+
+        if (!added.isEmpty()) {
+            EventBus.publish(new TransactionBatchAddedEvent(added));
+        }
+        return added.size();
+    }
+
     /**
      * Adds a new scheduled transaction to the 'scheduled_transactions' table.
      * If a duplicate schedule name is detected, it throws an SQLException.
@@ -206,20 +1280,21 @@ public class TransactionDatabase {
      * @throws SQLException if a database access error occurs or a duplicate schedule name exists.
      */
     public void addScheduledTransaction(ScheduledTransactionBean scheduledTransaction) throws SQLException {
-        String sql = "INSERT INTO scheduled_transactions (scheduleName, account, transactionType, frequency, dueDate, paymentAmount) VALUES (?, ?, ?, ?, ?, ?)";
 
         try (Connection conn = connect();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_SCHEDULED_TRANSACTION)) {
 
             pstmt.setString(1, scheduledTransaction.getScheduleName());
             pstmt.setString(2, scheduledTransaction.getAccount());
             pstmt.setString(3, scheduledTransaction.getTransactionType());
             pstmt.setString(4, scheduledTransaction.getFrequency());
             pstmt.setInt(5, scheduledTransaction.getDueDate());
-            pstmt.setDouble(6, scheduledTransaction.getPaymentAmount());
+            pstmt.setLong(6, scheduledTransaction.getPaymentCents());
+            pstmt.setLong(7, firstPostingDate(LocalDate.now()));
 
             // Execute the insertion
             pstmt.executeUpdate();
+            EventBus.publish(new ScheduledTransactionChangeEvent(null, scheduledTransaction));
 
         } catch (SQLException e) {
             // Re-throw the exception to be handled by the caller
@@ -233,23 +1308,58 @@ public class TransactionDatabase {
      */
     public ObservableList<TransactionBean> getAllTransactions() {
         ObservableList<TransactionBean> transactions = FXCollections.observableArrayList();
-        String sql = "SELECT * FROM transactions ORDER BY transactionDate DESC"; // Sorting by date in descending order
-
         try (Connection conn = connect();
              Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             ResultSet rs = stmt.executeQuery(SELECT_ALL_TRANSACTIONS)) {
 
             while (rs.next()) {
-                TransactionBean transaction = new TransactionBean(
-                    rs.getInt("id"),
-                    rs.getString("account"),
-                    rs.getString("transactionType"),
-                    LocalDate.parse(rs.getString("transactionDate")),
-                    rs.getString("transactionDescription"),
-                    rs.getDouble("paymentAmount"),
-                    rs.getDouble("depositAmount")
-                );
-                transactions.add(transaction);
+                transactions.add(mapTransaction(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return transactions;
+    }
+
+    /**
+     * Retrieves the transactions of one account, optionally limited to a date range, newest first.
+     * Uses the (account, transactionDate) index so only that account's rows are read.
+     * @param account the account name.
+     * @param from the earliest transaction date to include, or null for no lower bound.
+     * @param to the latest transaction date to include, or null for no upper bound.
+     * @return an ObservableList of TransactionBean objects for the account.
+     */
+    public ObservableList<TransactionBean> getTransactionsByAccount(String account, LocalDate from, LocalDate to) {
+        return queryTransactions(SELECT_TRANSACTIONS_BY_ACCOUNT, account, from, to);
+    }
+
+    /**
+     * Retrieves the transactions of one transaction type, optionally limited to a date range, newest first.
+     * The type name is looked up to its id, then the (typeId, transactionDate) index is range-scanned
+     * so only rows of that type in the date range are read.
+     * @param transactionType the transaction type name.
+     * @param from the earliest transaction date to include, or null for no lower bound.
+     * @param to the latest transaction date to include, or null for no upper bound.
+     * @return an ObservableList of TransactionBean objects of the given type.
+     */
+    public ObservableList<TransactionBean> getTransactionsByType(String transactionType, LocalDate from, LocalDate to) {
+        return queryTransactions(SELECT_TRANSACTIONS_BY_TYPE, transactionType, from, to);
+    }
+
+    /**
+     * Runs a transaction query filtered by one key column and an inclusive date range.
+     */
+    private ObservableList<TransactionBean> queryTransactions(String sql, String key, LocalDate from, LocalDate to) {
+        ObservableList<TransactionBean> transactions = FXCollections.observableArrayList();
+
+        try (Connection conn = connect();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, key);
+            bindDateRange(pstmt, 2, from, to);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    transactions.add(mapTransaction(rs));
+                }
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -257,28 +1367,284 @@ public class TransactionDatabase {
         return transactions;
     }
 
+    /**
+     * Retrieves the transactions dated within an inclusive range, newest first.
+     * Dates are compared as epoch-day integers on the transactionDate index.
+     * @param from the earliest transaction date to include, or null for no lower bound.
+     * @param to the latest transaction date to include, or null for no upper bound.
+     * @return an ObservableList of TransactionBean objects in the range.
+     */
+    public ObservableList<TransactionBean> getTransactionsBetween(LocalDate from, LocalDate to) {
+        ObservableList<TransactionBean> transactions = FXCollections.observableArrayList();
+
+        try (Connection conn = connect();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_TRANSACTIONS_BETWEEN)) {
+            bindDateRange(pstmt, 1, from, to);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    transactions.add(mapTransaction(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return transactions;
+    }
+
+    /**
+     * Counts the transactions dated within an inclusive range using only the transactionDate index.
+     * @param from the earliest transaction date to include, or null for no lower bound.
+     * @param to the latest transaction date to include, or null for no upper bound.
+     * @return the number of transactions in the range.
+     */
+    public int countTransactionsBetween(LocalDate from, LocalDate to) {
+        try (Connection conn = connect();
+             PreparedStatement pstmt = conn.prepareStatement(COUNT_TRANSACTIONS_BETWEEN)) {
+            bindDateRange(pstmt, 1, from, to);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    /**
+     * Searches transaction descriptions through the full-text index, best matches first (bm25 rank).
+     * Every bare word matches as a prefix, so "cof sh" finds "Coffee shop"; text in double quotes
+     * must match as a phrase; all words and phrases must be present.
+     * @param query the text typed by the user.
+     * @param limit the maximum number of transactions to return.
+     * @return the matching transactions, or an empty list if the query has no searchable words.
+     */
+    public ObservableList<TransactionBean> searchTransactions(String query, int limit) {
+        return searchTransactions(query, limit, QueryCancellation.NONE);
+    }
+
+    /**
+     * Searches transaction descriptions like {@link #searchTransactions(String, int)}, stopping early
+     * if the search is cancelled. A cancelled search returns whatever rows it had mapped, which the
+     * caller is expected to discard.
+     * @param query        the text typed by the user.
+     * @param limit        the maximum number of transactions to return.
+     * @param cancellation cancels the running statement when the search is superseded.
+     * @return the matching transactions, or an empty list if the query has no searchable words.
+     */
+    public ObservableList<TransactionBean> searchTransactions(String query, int limit, QueryCancellation cancellation) {
+        ObservableList<TransactionBean> transactions = FXCollections.observableArrayList();
+        String match = toFtsQuery(query);
+        if (match == null || cancellation.isCancelled()) {
+            return transactions;
+        }
+
+        try (Connection conn = connect();
+             PreparedStatement pstmt = conn.prepareStatement(SEARCH_TRANSACTIONS)) {
+            pstmt.setString(1, match);
+            pstmt.setInt(2, limit);
+            cancellation.register(pstmt);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next() && !cancellation.isCancelled()) {
+                    transactions.add(mapTransaction(rs));
+                }
+            } finally {
+                cancellation.unregister();
+            }
+        } catch (SQLException e) {
+            // An interrupted statement reports an error; only log it if nobody asked for it
+            if (!cancellation.isCancelled()) {
+                e.printStackTrace();
+            }
+        }
+        return transactions;
+    }
+
+    /**
+     * Finds scheduled transactions whose name contains the given text, ignoring case, soonest due date first.
+     * @param text         the text typed by the user.
+     * @param cancellation cancels the running statement when the search is superseded.
+     * @return the matching scheduled transactions.
+     */
+    public ObservableList<ScheduledTransactionBean> searchScheduledTransactions(String text, QueryCancellation cancellation) {
+        ObservableList<ScheduledTransactionBean> scheduledTransactions = FXCollections.observableArrayList();
+        if (cancellation.isCancelled()) {
+            return scheduledTransactions;
+        }
+
+        try (Connection conn = connect();
+             PreparedStatement pstmt = conn.prepareStatement(SEARCH_SCHEDULED_TRANSACTIONS)) {
+            pstmt.setString(1, "%" + escapeLike(text) + "%");
+            cancellation.register(pstmt);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next() && !cancellation.isCancelled()) {
+                    scheduledTransactions.add(mapScheduledTransaction(rs));
+                }
+            } finally {
+                cancellation.unregister();
+            }
+        } catch (SQLException e) {
+            if (!cancellation.isCancelled()) {
+                e.printStackTrace();
+            }
+        }
+        return scheduledTransactions;
+    }
+
+    // Escapes LIKE wildcards so user input only matches literally
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Translates user input into an FTS5 MATCH expression: quoted text becomes a phrase, every other
+     * word becomes a quoted prefix term. Quoting each token keeps FTS5 operators and punctuation typed
+     * by the user from being parsed as query syntax.
+     * @return the MATCH expression, or null if the input has no words.
+     */
+    static String toFtsQuery(String query) {
+        if (query == null) {
+            return null;
+        }
+        StringBuilder match = new StringBuilder();
+        String[] parts = query.split("\"", -1);
+        for (int i = 0; i < parts.length; i++) {
+            // Odd-numbered parts were inside double quotes
+            boolean phrase = i % 2 == 1 && i < parts.length - 1;
+            if (phrase) {
+                String words = parts[i].trim();
+                if (!words.isEmpty()) {
+                    match.append(match.length() > 0 ? " " : "").append('"').append(words).append('"');
+                }
+                continue;
+            }
+            for (String word : parts[i].trim().split("\\s+")) {
+                if (!word.isEmpty()) {
+                    match.append(match.length() > 0 ? " " : "").append('"').append(word).append("\"*");
+                }
+            }
+        }
+        return match.length() > 0 ? match.toString() : null;
+    }
+
+    /**
+     * Position of a row in the (transactionDate DESC, id DESC) ordering, used as a keyset pagination cursor.
+     * A page "after" a cursor holds the rows that sort after it, i.e. older transactions.
+     */
+    public record PageCursor(long transactionEpochDay, int id) {
+    }
+
+    /**
+     * Counts the rows in the 'transactions' table.
+     * @return the number of transactions.
+     */
+    public int countTransactions() {
+        try (Connection conn = connect();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(COUNT_TRANSACTIONS)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    /**
+     * Retrieves one page of transactions in (transactionDate DESC, id DESC) order using a keyset cursor,
+     * so fetching a page costs the same no matter how deep into the history it is.
+     * @param after the cursor of the last row of the previous page, or null for the first page.
+     * @param limit the maximum number of rows to return.
+     * @return the transactions that follow the cursor.
+     */
+    public List<TransactionBean> getTransactionsPage(PageCursor after, int limit) {
+        List<TransactionBean> page = new ArrayList<>(limit);
+
+        try (Connection conn = connect();
+             PreparedStatement pstmt = conn.prepareStatement(after == null ? SELECT_FIRST_TRANSACTION_PAGE : SELECT_TRANSACTION_PAGE_AFTER)) {
+            int index = bindCursor(pstmt, after);
+            pstmt.setInt(index, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    page.add(mapTransaction(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return page;
+    }
+
+    /**
+     * Moves a cursor forward by a number of rows without loading them, reading only the date index.
+     * @param after the starting cursor, or null to start before the first row.
+     * @param count the number of rows to skip.
+     * @return the cursor of the last skipped row, or null if fewer than count rows follow.
+     */
+    public PageCursor skipTransactions(PageCursor after, int count) {
+        try (Connection conn = connect();
+             PreparedStatement pstmt = conn.prepareStatement(after == null ? SELECT_FIRST_PAGE_CURSOR : SELECT_PAGE_CURSOR_AFTER)) {
+            int index = bindCursor(pstmt, after);
+            pstmt.setInt(index, count - 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return new PageCursor(rs.getLong("transactionDate"), rs.getInt("id"));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Binds a keyset cursor to the leading parameters of a page query.
+     * @return the index of the next unbound parameter.
+     */
+    private int bindCursor(PreparedStatement pstmt, PageCursor cursor) throws SQLException {
+        if (cursor == null) {
+            return 1;
+        }
+        pstmt.setLong(1, cursor.transactionEpochDay());
+        pstmt.setInt(2, cursor.id());
+        return 3;
+    }
+
+    /**
+     * Binds an inclusive date range as epoch days to two consecutive parameters. Null bounds are open.
+     */
+    private static void bindDateRange(PreparedStatement pstmt, int index, LocalDate from, LocalDate to) throws SQLException {
+        pstmt.setLong(index, from != null ? from.toEpochDay() : Long.MIN_VALUE);
+        pstmt.setLong(index + 1, to != null ? to.toEpochDay() : Long.MAX_VALUE);
+    }
+
+    /**
+     * Builds a TransactionBean from the current row of a 'transactions' result set.
+     * The date is kept as an epoch day; the bean creates the LocalDate only when it is first read.
+     */
+    private TransactionBean mapTransaction(ResultSet rs) throws SQLException {
+        return new TransactionBean(
+            rs.getInt("id"),
+            rs.getString("account"),
+            rs.getString("transactionType"),
+            rs.getLong("transactionDate"),
+            rs.getString("transactionDescription"),
+            rs.getLong("paymentCents"),
+            rs.getLong("depositCents")
+        );
+    }
+
     /**
      * Retrieves all scheduled transactions from the 'scheduled_transactions' table, sorted by ROWID in descending order.
      * @return an ObservableList of ScheduledTransactionBean objects representing each scheduled transaction.
      */
     public ObservableList<ScheduledTransactionBean> getAllScheduledTransactions() {
         ObservableList<ScheduledTransactionBean> scheduledTransactions = FXCollections.observableArrayList();
-        String sql = "SELECT * FROM scheduled_transactions ORDER BY ROWID DESC"; // Sorting by the latest addition at the top
 
         try (Connection conn = connect();
              Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             ResultSet rs = stmt.executeQuery(SELECT_ALL_SCHEDULED_TRANSACTIONS)) {
 
             while (rs.next()) {
-                ScheduledTransactionBean scheduledTransaction = new ScheduledTransactionBean(
-                    rs.getString("scheduleName"),
-                    rs.getString("account"),
-                    rs.getString("transactionType"),
-                    rs.getString("frequency"),
-                    rs.getInt("dueDate"),
-                    rs.getDouble("paymentAmount")
-                );
-                scheduledTransactions.add(scheduledTransaction);
+                scheduledTransactions.add(mapScheduledTransaction(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -286,17 +1652,92 @@ public class TransactionDatabase {
         return scheduledTransactions;
     }
 
+    /**
+     * Finds the first day after the given one on which a scheduled transaction falls due. A due date past
+     * the end of a short month falls on the month's last day.
+     * @param after the day to search from, exclusive.
+     * @return the next due day, or null if there are no schedules.
+     */
+    public LocalDate getNextDueDate(LocalDate after) {
+        try (Connection conn = connect();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_NEXT_DUE_DATE)) {
+            YearMonth month = YearMonth.from(after);
+            // On a month's last day every later due date has fallen already
+            if (after.getDayOfMonth() < month.lengthOfMonth()) {
+                Integer dueDate = minDueDateAfter(pstmt, after.getDayOfMonth());
+                if (dueDate != null) {
+                    return month.atDay(Math.min(dueDate, month.lengthOfMonth()));
+                }
+            }
+            YearMonth nextMonth = month.plusMonths(1);
+            Integer dueDate = minDueDateAfter(pstmt, 0);
+            return dueDate == null ? null : nextMonth.atDay(Math.min(dueDate, nextMonth.lengthOfMonth()));
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    private static Integer minDueDateAfter(PreparedStatement pstmt, int day) throws SQLException {
+        pstmt.setInt(1, day);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            int dueDate = rs.getInt(1);
+            return rs.wasNull() ? null : dueDate;
+        }
+    }
+
+    /**
+     * Lists every occurrence of a scheduled transaction between two dates, in date order, reading only
+     * the schedules due in each month's slice of the range.
+     * @param from the first day, inclusive.
+     * @param to   the last day, inclusive.
+     * @return the occurrences, each with the date it falls due.
+     */
+    public List<DueTransaction> getScheduledTransactionsDueBetween(LocalDate from, LocalDate to) {
+        List<DueTransaction> due = new ArrayList<>();
+        try (Connection conn = connect();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_SCHEDULES_DUE_BETWEEN)) {
+            for (YearMonth month = YearMonth.from(from); !month.atDay(1).isAfter(to); month = month.plusMonths(1)) {
+                int firstDay = month.equals(YearMonth.from(from)) ? from.getDayOfMonth() : 1;
+                int lastDay = month.equals(YearMonth.from(to)) ? to.getDayOfMonth() : month.lengthOfMonth();
+                // Due dates past the end of a short month fall on its last day
+                pstmt.setInt(1, firstDay);
+                pstmt.setInt(2, lastDay == month.lengthOfMonth() ? 31 : lastDay);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        ScheduledTransactionBean schedule = mapScheduledTransaction(rs);
+                        due.add(new DueTransaction(month.atDay(Math.min(schedule.getDueDate(), month.lengthOfMonth())), schedule));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return due;
+    }
+
+    private static ScheduledTransactionBean mapScheduledTransaction(ResultSet rs) throws SQLException {
+        return new ScheduledTransactionBean(
+            rs.getString("scheduleName"),
+            rs.getString("account"),
+            rs.getString("transactionType"),
+            rs.getString("frequency"),
+            rs.getInt("dueDate"),
+            rs.getLong("paymentCents")
+        );
+    }
+
     /**
      * Deletes a transaction from the 'transactions' table based on id.
      * @param transaction the TransactionBean to be deleted.
      */
     public void deleteTransaction(TransactionBean transaction) {
-        String sql = "DELETE FROM transactions WHERE id = ?";
-
         try (Connection conn = connect();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(DELETE_TRANSACTION)) {
             pstmt.setInt(1, transaction.getId());
-            pstmt.executeUpdate();
+            if (pstmt.executeUpdate() > 0) {
+                EventBus.publish(TransactionChangeEvent.deleted(transaction));
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -307,12 +1748,13 @@ public class TransactionDatabase {
      * @param scheduledTransaction the ScheduledTransactionBean to be deleted.
      */
     public void deleteScheduledTransaction(ScheduledTransactionBean scheduledTransaction) {
-        String sql = "DELETE FROM scheduled_transactions WHERE scheduleName = ?";
 
         try (Connection conn = connect();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(DELETE_SCHEDULED_TRANSACTION)) {
             pstmt.setString(1, scheduledTransaction.getScheduleName());
-            pstmt.executeUpdate();
+            if (pstmt.executeUpdate() > 0) {
+                EventBus.publish(new ScheduledTransactionChangeEvent(scheduledTransaction, null));
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -324,18 +1766,21 @@ public class TransactionDatabase {
      * @param updatedTransaction the updated TransactionBean with new values.
      */
     public void updateTransaction(TransactionBean originalTransaction, TransactionBean updatedTransaction) {
-        String sql = "UPDATE transactions SET account = ?, transactionType = ?, transactionDate = ?, transactionDescription = ?, paymentAmount = ?, depositAmount = ? WHERE id = ?";
-
         try (Connection conn = connect();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(UPDATE_TRANSACTION)) {
+            if (ensureTransactionType(conn, updatedTransaction.getTransactionType())) {
+                transactionTypesAdded();
+            }
             pstmt.setString(1, updatedTransaction.getAccount());
             pstmt.setString(2, updatedTransaction.getTransactionType());
-            pstmt.setString(3, updatedTransaction.getTransactionDate().toString());
+            pstmt.setLong(3, updatedTransaction.getTransactionEpochDay());
             pstmt.setString(4, updatedTransaction.getTransactionDescription());
-            pstmt.setDouble(5, updatedTransaction.getPaymentAmount() != null ? updatedTransaction.getPaymentAmount() : 0);
-            pstmt.setDouble(6, updatedTransaction.getDepositAmount() != null ? updatedTransaction.getDepositAmount() : 0);
+            pstmt.setLong(5, updatedTransaction.getPaymentCents());
+            pstmt.setLong(6, updatedTransaction.getDepositCents());
             pstmt.setInt(7, originalTransaction.getId());
-            pstmt.executeUpdate();
+            if (pstmt.executeUpdate() > 0) {
+                EventBus.publish(TransactionChangeEvent.updated(originalTransaction, updatedTransaction));
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -348,20 +1793,21 @@ public class TransactionDatabase {
      * @throws SQLException if a database access error occurs.
      */
     public void updateScheduledTransaction(ScheduledTransactionBean originalScheduledTransaction, ScheduledTransactionBean updatedScheduledTransaction) throws SQLException {
-        String sql = "UPDATE scheduled_transactions SET scheduleName = ?, account = ?, transactionType = ?, frequency = ?, dueDate = ?, paymentAmount = ? WHERE scheduleName = ?";
 
         try (Connection conn = connect();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(UPDATE_SCHEDULED_TRANSACTION)) {
 
             pstmt.setString(1, updatedScheduledTransaction.getScheduleName());
             pstmt.setString(2, updatedScheduledTransaction.getAccount());
             pstmt.setString(3, updatedScheduledTransaction.getTransactionType());
             pstmt.setString(4, updatedScheduledTransaction.getFrequency());
             pstmt.setInt(5, updatedScheduledTransaction.getDueDate());
-            pstmt.setDouble(6, updatedScheduledTransaction.getPaymentAmount());
+            pstmt.setLong(6, updatedScheduledTransaction.getPaymentCents());
             pstmt.setString(7, originalScheduledTransaction.getScheduleName());
 
-            pstmt.executeUpdate();
+            if (pstmt.executeUpdate() > 0) {
+                EventBus.publish(new ScheduledTransactionChangeEvent(originalScheduledTransaction, updatedScheduledTransaction));
+            }
 
         } catch (SQLException e) {
             throw e;
@@ -374,12 +1820,12 @@ public class TransactionDatabase {
      * @return true if the scheduled transaction name exists, false otherwise.
      */
     public boolean scheduledTransactionNameExists(String scheduleName) {
-        String sql = "SELECT COUNT(*) FROM scheduled_transactions WHERE scheduleName = ?";
         try (Connection conn = connect();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(COUNT_SCHEDULES_NAMED)) {
             pstmt.setString(1, scheduleName);
-            ResultSet rs = pstmt.executeQuery();
-            return rs.getInt(1) > 0;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.getInt(1) > 0;
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
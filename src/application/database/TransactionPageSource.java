@@ -0,0 +1,176 @@
+package application.database;
+
+import application.database.TransactionDatabase.PageCursor;
+import application.model.TransactionBean;
+import application.services.DataService;
+import javafx.collections.ObservableListBase;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * TransactionPageSource is a read-only, lazily loaded list of all transactions, newest first.
+ * Only its size and first page are loaded up front; other pages are fetched with keyset cursors
+ * on a {@link DataService} thread when the TableView asks for them while scrolling, and the least
+ * recently used pages are evicted once more than a few are resident. Until a page arrives its rows
+ * read as the {@link #LOADING} placeholder, and the list reports them as replaced once it does, so the
+ * FX thread never waits on SQLite. Opening the Transactions screen therefore costs the same no matter
+ * how long the ledger history is.
+ */
+public class TransactionPageSource extends ObservableListBase<TransactionBean> {
+
+    /** The row shown while its page is being fetched. */
+    public static final TransactionBean LOADING = new TransactionBean(-1, null, null, 0L, "Loading...", 0, 0);
+
+    // Rows fetched per query
+    private static final int PAGE_SIZE = 100;
+
+    // Pages kept in memory; the visible rows, the prefetched page and some scroll-back never span more than this
+    private static final int MAX_RESIDENT_PAGES = 6;
+
+    private final TransactionDatabase transactionDatabase;
+    private final int size;
+
+    // The fields below are only used on the FX thread, apart from the constructor
+
+    // pageEnds.get(p) is the cursor of the last row of page p, used as the start of page p + 1.
+    // Only pages that have been reached are known; a jump with the scroll bar leaves gaps.
+    private final NavigableMap<Integer, PageCursor> pageEnds = new TreeMap<>();
+
+    // Pages being fetched, so a page asked for again before it arrives is only fetched once
+    private final Set<Integer> pendingPages = new HashSet<>();
+
+    // Access-ordered so the least recently viewed page is evicted first
+    private final Map<Integer, List<TransactionBean>> residentPages =
+            new LinkedHashMap<>(MAX_RESIDENT_PAGES + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, List<TransactionBean>> eldest) {
+                    return size() > MAX_RESIDENT_PAGES;
+                }
+            };
+
+    /**
+     * A page as fetched off the FX thread.
+     *
+     * @param page  the page number.
+     * @param start the cursor the page was read after, or null for the first page or past the end.
+     * @param rows  the page's transactions with their running balances.
+     */
+    private record LoadedPage(int page, PageCursor start, List<TransactionBean> rows) {
+    }
+
+    /**
+     * Creates a page source over the current contents of the 'transactions' table, counting the rows
+     * and loading the first page. Call it off the FX thread, e.g. from {@link DataService#loadTable}.
+     * Create a new instance to pick up inserts, updates or deletes.
+     *
+     * @param transactionDatabase the database to read pages from.
+     */
+    public TransactionPageSource(TransactionDatabase transactionDatabase) {
+        this.transactionDatabase = transactionDatabase;
+        this.size = transactionDatabase.countTransactions();
+        if (size > 0) {
+            remember(fetchPage(0, null));
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the transaction at the given position. If its page is not resident, the page is requested
+     * in the background, together with the one after it, and {@link #LOADING} is returned meanwhile.
+     * Also returns {@link #LOADING} if rows were deleted after this source was created.
+     */
+    @Override
+    public TransactionBean get(int index) {
+        Objects.checkIndex(index, size);
+        int page = index / PAGE_SIZE;
+        List<TransactionBean> rows = residentPages.get(page);
+        if (rows == null) {
+            requestPage(page, true);
+            return LOADING;
+        }
+        int offset = index % PAGE_SIZE;
+        return offset < rows.size() ? rows.get(offset) : LOADING;
+    }
+
+    private void requestPage(int page, boolean prefetchNext) {
+        if (!pendingPages.add(page)) {
+            return;
+        }
+        // The nearest known cursor before the page; the fetch skips from it in one query
+        Map.Entry<Integer, PageCursor> known = page == 0 ? null : pageEnds.floorEntry(page - 1);
+        DataService.load(() -> fetchPage(page, known), loaded -> {
+            install(loaded);
+            int next = page + 1;
+            if (prefetchNext && next * PAGE_SIZE < size && !residentPages.containsKey(next)) {
+                requestPage(next, false);
+            }
+        }).whenComplete((loaded, error) -> {
+            if (error != null) {
+                // Forget the failed fetch so the next get() of the page tries again
+                DataService.runOnFxThread(() -> pendingPages.remove(page));
+            }
+        });
+    }
+
+    /**
+     * Fetches a page and its running balances. A jump with the scroll bar skips from the nearest
+     * known cursor to the page's start in one OFFSET query over the date index. Runs off the FX thread.
+     *
+     * @param known the last known page end before the page, or null to count from the first row.
+     */
+    private LoadedPage fetchPage(int page, Map.Entry<Integer, PageCursor> known) {
+        PageCursor start = known == null ? null : known.getValue();
+        int knownPage = known == null ? -1 : known.getKey();
+        if (page - 1 > knownPage) {
+            start = transactionDatabase.skipTransactions(start, (page - 1 - knownPage) * PAGE_SIZE);
+            if (start == null) {
+                return new LoadedPage(page, null, List.of()); // The table has fewer rows than expected
+            }
+        }
+        List<TransactionBean> rows = transactionDatabase.getTransactionsPage(start, PAGE_SIZE);
+        transactionDatabase.fillRunningBalances(rows);
+        return new LoadedPage(page, start, rows);
+    }
+
+    private void remember(LoadedPage loaded) {
+        int page = loaded.page();
+        if (loaded.start() != null) {
+            pageEnds.put(page - 1, loaded.start());
+        }
+        // Remember where the next page starts so scrolling forward never has to skip again
+        List<TransactionBean> rows = loaded.rows();
+        if (rows.size() == PAGE_SIZE) {
+            TransactionBean last = rows.get(rows.size() - 1);
+            pageEnds.put(page, new PageCursor(last.getTransactionEpochDay(), last.getId()));
+        }
+        residentPages.put(page, rows);
+    }
+
+    // Stores a page fetched in the background and tells the TableView its placeholder rows were replaced
+    private void install(LoadedPage loaded) {
+        pendingPages.remove(loaded.page());
+        remember(loaded);
+
+        int from = loaded.page() * PAGE_SIZE;
+        int count = Math.min(loaded.rows().size(), size - from);
+        if (count <= 0) {
+            return;
+        }
+        beginChange();
+        for (int i = 0; i < count; i++) {
+            nextSet(from + i, LOADING);
+        }
+        endChange();
+    }
+}
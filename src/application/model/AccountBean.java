@@ -18,7 +18,7 @@ public class AccountBean {
      * @param openingBalance the initial balance of the account.
      */
     public AccountBean(String name, LocalDate openingDate, double openingBalance) {
-        this.name = name;
+        this.name = SymbolTable.intern(name);
         this.openingDate = openingDate;
         this.openingBalance = openingBalance;
     }
@@ -0,0 +1,137 @@
+package application.model;
+
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Represents the aggregated figures shown on the Home dashboard: row counts, the current month's
+ * income and expenses, and net expenses (payments minus deposits) for every month with transactions.
+ * Built from a single aggregate query so the dashboard never has to load individual transactions,
+ * then kept current by applying each added, updated or deleted transaction as a delta.
+ */
+public class DashboardSnapshot {
+    private final YearMonth currentMonth;
+    private int transactionCount;
+    private int scheduledTransactionCount;
+    private long currentMonthIncomeCents;
+    private long currentMonthExpensesCents;
+    private final NavigableMap<YearMonth, Long> monthlyNetExpenseCents;
+
+    // Number of transactions in each month, so months can be dropped when their last transaction goes
+    private final NavigableMap<YearMonth, Integer> monthlyCounts;
+
+    /**
+     * Constructs a new DashboardSnapshot with the specified figures.
+     *
+     * @param currentMonth              the month the income and expense figures belong to.
+     * @param scheduledTransactionCount the number of scheduled transactions.
+     * @param currentMonthIncomeCents   the sum of deposits in the current month, in cents.
+     * @param currentMonthExpensesCents the sum of payments in the current month, in cents.
+     * @param monthlyNetExpenseCents    payments minus deposits in cents for each month that has transactions.
+     * @param monthlyCounts             the number of transactions in each month.
+     */
+    public DashboardSnapshot(YearMonth currentMonth, int scheduledTransactionCount, long currentMonthIncomeCents,
+                             long currentMonthExpensesCents, NavigableMap<YearMonth, Long> monthlyNetExpenseCents,
+                             NavigableMap<YearMonth, Integer> monthlyCounts) {
+        this.currentMonth = currentMonth;
+        this.scheduledTransactionCount = scheduledTransactionCount;
+        this.currentMonthIncomeCents = currentMonthIncomeCents;
+        this.currentMonthExpensesCents = currentMonthExpensesCents;
+        this.monthlyNetExpenseCents = new TreeMap<>(monthlyNetExpenseCents);
+        this.monthlyCounts = new TreeMap<>(monthlyCounts);
+        for (int count : monthlyCounts.values()) {
+            transactionCount += count;
+        }
+    }
+
+    /**
+     * Applies a change to one transaction. Pass null as {@code before} for an added transaction
+     * and null as {@code after} for a deleted one.
+     *
+     * @param before the transaction as it was, or null.
+     * @param after  the transaction as it is now, or null.
+     */
+    public void applyTransactionChange(TransactionBean before, TransactionBean after) {
+        if (before != null) {
+            apply(before, -1);
+        }
+        if (after != null) {
+            apply(after, 1);
+        }
+    }
+
+    private void apply(TransactionBean transaction, int sign) {
+        YearMonth month = YearMonth.from(transaction.getTransactionDate());
+        long payment = transaction.getPaymentCents();
+        long deposit = transaction.getDepositCents();
+
+        transactionCount += sign;
+        int remaining = monthlyCounts.merge(month, sign, Integer::sum);
+        if (remaining <= 0) {
+            monthlyCounts.remove(month);
+            monthlyNetExpenseCents.remove(month);
+        } else {
+            monthlyNetExpenseCents.merge(month, sign * (payment - deposit), Long::sum);
+        }
+
+        if (month.equals(currentMonth)) {
+            if (payment > 0) {
+                currentMonthExpensesCents += sign * payment;
+            }
+            if (deposit > 0) {
+                currentMonthIncomeCents += sign * deposit;
+            }
+        }
+    }
+
+    /**
+     * Applies a change in the number of scheduled transactions.
+     *
+     * @param delta +1 for an added schedule, -1 for a deleted one.
+     */
+    public void applyScheduledTransactionCountChange(int delta) {
+        scheduledTransactionCount += delta;
+    }
+
+    // Getters
+
+    public YearMonth getCurrentMonth() {
+        return currentMonth;
+    }
+
+    public int getTransactionCount() {
+        return transactionCount;
+    }
+
+    public int getScheduledTransactionCount() {
+        return scheduledTransactionCount;
+    }
+
+    public long getCurrentMonthIncomeCents() {
+        return currentMonthIncomeCents;
+    }
+
+    public long getCurrentMonthExpensesCents() {
+        return currentMonthExpensesCents;
+    }
+
+    /**
+     * Gets net expenses in cents per month, ordered from the earliest month.
+     *
+     * @return an unmodifiable view of the month to payments-minus-deposits map.
+     */
+    public NavigableMap<YearMonth, Long> getMonthlyNetExpenseCents() {
+        return Collections.unmodifiableNavigableMap(monthlyNetExpenseCents);
+    }
+
+    /**
+     * Gets the earliest month that has any transaction.
+     *
+     * @return the earliest month, or null if there are no transactions.
+     */
+    public YearMonth getEarliestMonth() {
+        return monthlyNetExpenseCents.isEmpty() ? null : monthlyNetExpenseCents.firstKey();
+    }
+}
@@ -0,0 +1,12 @@
+package application.model;
+
+import java.time.LocalDate;
+
+/**
+ * One occurrence of a scheduled transaction: the schedule and the date it falls due.
+ *
+ * @param dueDate  the date of the occurrence.
+ * @param schedule the scheduled transaction.
+ */
+public record DueTransaction(LocalDate dueDate, ScheduledTransactionBean schedule) {
+}
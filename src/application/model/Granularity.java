@@ -0,0 +1,111 @@
+package application.model;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * The bucket size of a {@link TimeSeries}. Each bucket is identified by the epoch day it starts on;
+ * weeks start on Monday and quarters on January, April, July and October.
+ */
+public enum Granularity {
+    DAY("Daily", "MMM d, yyyy"),
+    WEEK("Weekly", "MMM d, yyyy"),
+    MONTH("Monthly", "MMM yyyy"),
+    QUARTER("Quarterly", null),
+    YEAR("Yearly", "yyyy");
+
+    private final String displayName;
+    private final DateTimeFormatter labelFormat;
+
+    Granularity(String displayName, String labelPattern) {
+        this.displayName = displayName;
+        // Labels without a day or month parse to the first of them, which is where their bucket starts
+        this.labelFormat = labelPattern == null ? null : new DateTimeFormatterBuilder()
+                .appendPattern(labelPattern)
+                .parseDefaulting(ChronoField.MONTH_OF_YEAR, 1)
+                .parseDefaulting(ChronoField.DAY_OF_MONTH, 1)
+                .toFormatter(Locale.ENGLISH);
+    }
+
+    /**
+     * Returns the first day of the bucket containing the given date.
+     *
+     * @param date any date.
+     * @return the start of its bucket.
+     */
+    public LocalDate bucketStart(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case QUARTER -> date.withDayOfMonth(1).withMonth((date.getMonthValue() - 1) / 3 * 3 + 1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    /**
+     * Returns the first day of the bucket after the one starting on the given date.
+     *
+     * @param bucketStart the start of a bucket.
+     * @return the start of the next bucket.
+     */
+    public LocalDate nextBucket(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+            case QUARTER -> bucketStart.plusMonths(3);
+            case YEAR -> bucketStart.plusYears(1);
+        };
+    }
+
+    /**
+     * Formats a bucket for an axis or data label, e.g. "Mar 2024" or "Q1 2024".
+     *
+     * @param bucketStart the start of a bucket.
+     * @return the label.
+     */
+    public String label(LocalDate bucketStart) {
+        if (this == QUARTER) {
+            return "Q" + bucketStart.get(IsoFields.QUARTER_OF_YEAR) + " " + bucketStart.getYear();
+        }
+        return labelFormat.format(bucketStart);
+    }
+
+    /**
+     * Parses a label made by {@link #label(LocalDate)} back to the start of its bucket.
+     *
+     * @param label a bucket label, e.g. "Mar 2024" or "Q1 2024".
+     * @return the start of the bucket, or null if the label is not one of this granularity's.
+     */
+    public LocalDate parseLabel(String label) {
+        if (label == null) {
+            return null;
+        }
+        try {
+            if (this == QUARTER) {
+                String[] parts = label.trim().split(" ");
+                if (parts.length != 2 || !parts[0].matches("Q[1-4]")) {
+                    return null;
+                }
+                int quarter = parts[0].charAt(1) - '0';
+                return LocalDate.of(Integer.parseInt(parts[1]), (quarter - 1) * 3 + 1, 1);
+            }
+            return bucketStart(LocalDate.parse(label.trim(), labelFormat));
+        } catch (DateTimeException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,81 @@
+package application.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money amounts are stored and summed as whole cents in a primitive {@code long}, so totals are exact
+ * and no boxed values are created per row. This class converts between cents and the decimal text
+ * and dollar values used by forms, imports and charts.
+ */
+public final class Money {
+
+    private static final long CENTS_PER_DOLLAR = 100;
+
+    private Money() {
+    }
+
+    /**
+     * Parses a decimal amount such as "12.5", "$1,234.56" or "-3" into cents, rounding half up
+     * past the second decimal place.
+     *
+     * @param text the amount to parse.
+     * @return the amount in cents, or 0 if the text is null or blank.
+     * @throws NumberFormatException if the text is not a valid amount.
+     */
+    public static long parse(String text) {
+        if (text == null || text.isBlank()) {
+            return 0;
+        }
+        String cleaned = text.trim().replace("$", "").replace(",", "");
+        try {
+            return new BigDecimal(cleaned).setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount out of range: " + text);
+        }
+    }
+
+    /**
+     * Converts a dollar value to cents, rounding to the nearest cent.
+     * Only used at boundaries that still hand out doubles, such as legacy REAL columns.
+     *
+     * @param dollars the amount in dollars.
+     * @return the amount in cents.
+     */
+    public static long fromDollars(double dollars) {
+        return Math.round(dollars * CENTS_PER_DOLLAR);
+    }
+
+    /**
+     * Converts cents to dollars for display code that needs a double, such as chart values.
+     *
+     * @param cents the amount in cents.
+     * @return the amount in dollars.
+     */
+    public static double toDollars(long cents) {
+        return cents / (double) CENTS_PER_DOLLAR;
+    }
+
+    /**
+     * Formats cents as a plain decimal with two places, e.g. "1234.50", suitable for an editable text field.
+     *
+     * @param cents the amount in cents.
+     * @return the decimal text.
+     */
+    public static String toPlainString(long cents) {
+        String sign = cents < 0 ? "-" : "";
+        long abs = Math.abs(cents);
+        long fraction = abs % CENTS_PER_DOLLAR;
+        return sign + abs / CENTS_PER_DOLLAR + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+
+    /**
+     * Formats cents for display with a dollar sign, e.g. "$1234.50" or "-$3.00".
+     *
+     * @param cents the amount in cents.
+     * @return the formatted amount.
+     */
+    public static String format(long cents) {
+        return cents < 0 ? "-$" + toPlainString(-cents) : "$" + toPlainString(cents);
+    }
+}
@@ -1,5 +1,10 @@
 package application.model;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Represents a scheduled transaction with details such as schedule name, account,
  * transaction type, frequency, due date, and payment amount.
@@ -10,7 +15,7 @@ public class ScheduledTransactionBean {
     private String transactionType;
     private String frequency;
     private int dueDate;
-    private Double paymentAmount;
+    private long paymentCents;
 
     /**
      * Constructs a new ScheduledTransactionBean with the specified details.
@@ -20,16 +25,16 @@ public class ScheduledTransactionBean {
      * @param transactionType the type of transaction (e.g., "expense", "income").
      * @param frequency       the frequency of the scheduled transaction (e.g., "Monthly").
      * @param dueDate         the due date for the scheduled transaction (day of the month).
-     * @param paymentAmount   the payment amount for the scheduled transaction.
+     * @param paymentCents    the payment amount in cents for the scheduled transaction.
      */
     public ScheduledTransactionBean(String scheduleName, String account, String transactionType, String frequency,
-                                    int dueDate, Double paymentAmount) {
+                                    int dueDate, long paymentCents) {
         this.scheduleName = scheduleName;
-        this.account = account;
-        this.transactionType = transactionType;
+        this.account = SymbolTable.intern(account);
+        this.transactionType = SymbolTable.intern(transactionType);
         this.frequency = frequency;
         this.dueDate = dueDate;
-        this.paymentAmount = paymentAmount;
+        this.paymentCents = paymentCents;
     }
 
     // Getters and setters
@@ -47,7 +52,7 @@ public class ScheduledTransactionBean {
     }
 
     public void setAccount(String account) {
-        this.account = account;
+        this.account = SymbolTable.intern(account);
     }
 
     public String getTransactionType() {
@@ -55,7 +60,7 @@ public class ScheduledTransactionBean {
     }
 
     public void setTransactionType(String transactionType) {
-        this.transactionType = transactionType;
+        this.transactionType = SymbolTable.intern(transactionType);
     }
 
     public String getFrequency() {
@@ -74,11 +79,42 @@ public class ScheduledTransactionBean {
         this.dueDate = dueDate;
     }
 
-    public Double getPaymentAmount() {
-        return paymentAmount;
+    public long getPaymentCents() {
+        return paymentCents;
+    }
+
+    public void setPaymentCents(long paymentCents) {
+        this.paymentCents = paymentCents;
     }
 
-    public void setPaymentAmount(Double paymentAmount) {
-        this.paymentAmount = paymentAmount;
+    /**
+     * Gets the payment amount in dollars, for table columns.
+     *
+     * @return the payment amount in dollars.
+     */
+    public double getPaymentAmount() {
+        return Money.toDollars(paymentCents);
+    }
+
+    /**
+     * Lists the dates this schedule falls due after one date, up to and including another. Schedules repeat
+     * monthly; a due date past the end of a short month falls on the month's last day.
+     *
+     * @param after   the last date already accounted for; occurrences on it are not listed.
+     * @param through the last date to list, inclusive.
+     * @return the due dates in order, empty if the due date is not a day of the month.
+     */
+    public List<LocalDate> dueDatesBetween(LocalDate after, LocalDate through) {
+        List<LocalDate> dates = new ArrayList<>();
+        if (dueDate < 1 || dueDate > 31) {
+            return dates;
+        }
+        for (YearMonth month = YearMonth.from(after); !month.atDay(1).isAfter(through); month = month.plusMonths(1)) {
+            LocalDate due = month.atDay(Math.min(dueDate, month.lengthOfMonth()));
+            if (due.isAfter(after) && !due.isAfter(through)) {
+                dates.add(due);
+            }
+        }
+        return dates;
     }
 }
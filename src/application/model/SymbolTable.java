@@ -0,0 +1,40 @@
+package application.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SymbolTable holds one canonical String instance per account name and transaction type name.
+ * Beans intern these names on construction, so a million transactions across a few dozen accounts
+ * and types share a few dozen strings instead of holding a copy each, and two names read from the
+ * database are equal exactly when they are the same instance.
+ */
+public final class SymbolTable {
+
+    private static final ConcurrentHashMap<String, String> SYMBOLS = new ConcurrentHashMap<>();
+
+    private SymbolTable() {
+    }
+
+    /**
+     * Returns the canonical instance of a name, registering it on first use.
+     *
+     * @param name the name to intern; may be null.
+     * @return the shared instance equal to {@code name}, or null.
+     */
+    public static String intern(String name) {
+        if (name == null) {
+            return null;
+        }
+        String existing = SYMBOLS.putIfAbsent(name, name);
+        return existing != null ? existing : name;
+    }
+
+    /**
+     * Gets the number of distinct names interned so far.
+     *
+     * @return the symbol count.
+     */
+    public static int size() {
+        return SYMBOLS.size();
+    }
+}
@@ -0,0 +1,161 @@
+package application.model;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * A sequence of amounts in cents, one per bucket of a {@link Granularity}, such as net expenses per week.
+ * A new series has a zero bucket for every bucket overlapping the requested range, so gaps in the data
+ * still plot as zero; amounts are then added by date. {@link #downsample(int)} reduces a long series to
+ * roughly one point per pixel for drawing.
+ */
+public final class TimeSeries {
+    private final Granularity granularity;
+    private final long[] epochDays;
+    private final long[] cents;
+
+    /**
+     * Creates a series of zero buckets covering every bucket that overlaps the given dates.
+     *
+     * @param granularity the bucket size.
+     * @param from        the first date to cover.
+     * @param to          the last date to cover, inclusive.
+     */
+    public TimeSeries(Granularity granularity, LocalDate from, LocalDate to) {
+        this.granularity = granularity;
+        LocalDate first = granularity.bucketStart(from);
+        LocalDate last = granularity.bucketStart(to);
+
+        int size = 0;
+        for (LocalDate bucket = first; !bucket.isAfter(last); bucket = granularity.nextBucket(bucket)) {
+            size++;
+        }
+        this.epochDays = new long[size];
+        this.cents = new long[size];
+        LocalDate bucket = first;
+        for (int i = 0; i < size; i++) {
+            epochDays[i] = bucket.toEpochDay();
+            bucket = granularity.nextBucket(bucket);
+        }
+    }
+
+    private TimeSeries(Granularity granularity, long[] epochDays, long[] cents) {
+        this.granularity = granularity;
+        this.epochDays = epochDays;
+        this.cents = cents;
+    }
+
+    /**
+     * Adds an amount to the bucket containing the given date. Dates outside the series are ignored.
+     *
+     * @param date   the date of the amount.
+     * @param amount the amount in cents.
+     */
+    public void add(LocalDate date, long amount) {
+        int index = indexOf(date);
+        if (index >= 0) {
+            cents[index] += amount;
+        }
+    }
+
+    /**
+     * Finds the point of the bucket containing the given date.
+     *
+     * @param date any date.
+     * @return the point index, or -1 if the date is outside the series or its bucket was dropped by downsampling.
+     */
+    public int indexOf(LocalDate date) {
+        int index = Arrays.binarySearch(epochDays, granularity.bucketStart(date).toEpochDay());
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * Returns a series of at most {@code maxPoints} points that keeps the visual shape of this one,
+     * using Largest-Triangle-Three-Buckets: the first and last points are kept, and from each run of
+     * points in between, the one forming the largest triangle with its neighbours is kept. Peaks and
+     * dips survive, which plain averaging would flatten.
+     *
+     * @param maxPoints the most points to keep, typically the chart's width in pixels.
+     * @return this series if it is already small enough, otherwise a downsampled copy.
+     */
+    public TimeSeries downsample(int maxPoints) {
+        int size = epochDays.length;
+        if (maxPoints >= size || maxPoints < 3) {
+            return this;
+        }
+
+        long[] sampledDays = new long[maxPoints];
+        long[] sampledCents = new long[maxPoints];
+        sampledDays[0] = epochDays[0];
+        sampledCents[0] = cents[0];
+
+        // Every output point except the first and last stands for a run of this many input points
+        double runLength = (size - 2) / (double) (maxPoints - 2);
+        int previous = 0;
+        for (int run = 0; run < maxPoints - 2; run++) {
+            // Average of the next run, the third corner of the triangle
+            int nextStart = (int) ((run + 1) * runLength) + 1;
+            int nextEnd = Math.min((int) ((run + 2) * runLength) + 1, size);
+            double averageDay = 0;
+            double averageCents = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                averageDay += epochDays[i];
+                averageCents += cents[i];
+            }
+            if (nextEnd > nextStart) {
+                averageDay /= nextEnd - nextStart;
+                averageCents /= nextEnd - nextStart;
+            } else {
+                averageDay = epochDays[size - 1];
+                averageCents = cents[size - 1];
+            }
+
+            int runStart = (int) (run * runLength) + 1;
+            int runEnd = (int) ((run + 1) * runLength) + 1;
+            double previousDay = epochDays[previous];
+            double previousCents = cents[previous];
+            double largestArea = -1;
+            int chosen = runStart;
+            for (int i = runStart; i < runEnd; i++) {
+                // Twice the triangle's area; only the comparison matters
+                double area = Math.abs((previousDay - averageDay) * (cents[i] - previousCents)
+                        - (previousDay - epochDays[i]) * (averageCents - previousCents));
+                if (area > largestArea) {
+                    largestArea = area;
+                    chosen = i;
+                }
+            }
+            sampledDays[run + 1] = epochDays[chosen];
+            sampledCents[run + 1] = cents[chosen];
+            previous = chosen;
+        }
+
+        sampledDays[maxPoints - 1] = epochDays[size - 1];
+        sampledCents[maxPoints - 1] = cents[size - 1];
+        return new TimeSeries(granularity, sampledDays, sampledCents);
+    }
+
+    public Granularity getGranularity() {
+        return granularity;
+    }
+
+    public int size() {
+        return epochDays.length;
+    }
+
+    /**
+     * @param index the point index.
+     * @return the epoch day the point's bucket starts on.
+     */
+    public long getEpochDay(int index) {
+        return epochDays[index];
+    }
+
+    /**
+     * @param index the point index.
+     * @return the point's amount in cents.
+     */
+    public long getCents(int index) {
+        return cents[index];
+    }
+}
@@ -10,10 +10,12 @@ public class TransactionBean {
     private int id; // New field to store the unique identifier
     private String account;
     private String transactionType;
-    private LocalDate transactionDate;
+    private long transactionEpochDay;
+    private LocalDate transactionDate; // Created from transactionEpochDay on first use
     private String transactionDescription;
-    private Double paymentAmount;
-    private Double depositAmount;
+    private long paymentCents;
+    private long depositCents;
+    private Long balanceCents; // Account balance after this transaction, when the loader computed it
 
     /**
      * Constructs a new TransactionBean with the specified details.
@@ -23,18 +25,36 @@ public class TransactionBean {
      * @param transactionType        the type of transaction (e.g., "expense", "income").
      * @param transactionDate        the date when the transaction occurred.
      * @param transactionDescription a description of the transaction.
-     * @param paymentAmount          the payment amount (for expense transactions).
-     * @param depositAmount          the deposit amount (for income transactions).
+     * @param paymentCents           the payment amount in cents (for expense transactions).
+     * @param depositCents           the deposit amount in cents (for income transactions).
      */
     public TransactionBean(int id, String account, String transactionType, LocalDate transactionDate,
-                           String transactionDescription, Double paymentAmount, Double depositAmount) {
-        this.id = id;
-        this.account = account;
-        this.transactionType = transactionType;
+                           String transactionDescription, long paymentCents, long depositCents) {
+        this(id, account, transactionType, transactionDate.toEpochDay(), transactionDescription, paymentCents, depositCents);
         this.transactionDate = transactionDate;
+    }
+
+    /**
+     * Constructs a new TransactionBean from a stored row, with the date as days since 1970-01-01.
+     * The LocalDate is not created until {@link #getTransactionDate()} is first called.
+     *
+     * @param id                     the unique identifier of the transaction.
+     * @param account                the name of the account associated with this transaction.
+     * @param transactionType        the type of transaction (e.g., "expense", "income").
+     * @param transactionEpochDay    the date when the transaction occurred, as an epoch day.
+     * @param transactionDescription a description of the transaction.
+     * @param paymentCents           the payment amount in cents (for expense transactions).
+     * @param depositCents           the deposit amount in cents (for income transactions).
+     */
+    public TransactionBean(int id, String account, String transactionType, long transactionEpochDay,
+                           String transactionDescription, long paymentCents, long depositCents) {
+        this.id = id;
+        this.account = SymbolTable.intern(account);
+        this.transactionType = SymbolTable.intern(transactionType);
+        this.transactionEpochDay = transactionEpochDay;
         this.transactionDescription = transactionDescription;
-        this.paymentAmount = paymentAmount;
-        this.depositAmount = depositAmount;
+        this.paymentCents = paymentCents;
+        this.depositCents = depositCents;
     }
 
     /**
@@ -44,12 +64,12 @@ public class TransactionBean {
      * @param transactionType        the type of transaction (e.g., "expense", "income").
      * @param transactionDate        the date when the transaction occurred.
      * @param transactionDescription a description of the transaction.
-     * @param paymentAmount          the payment amount (for expense transactions).
-     * @param depositAmount          the deposit amount (for income transactions).
+     * @param paymentCents           the payment amount in cents (for expense transactions).
+     * @param depositCents           the deposit amount in cents (for income transactions).
      */
     public TransactionBean(String account, String transactionType, LocalDate transactionDate,
-                           String transactionDescription, Double paymentAmount, Double depositAmount) {
-        this(-1, account, transactionType, transactionDate, transactionDescription, paymentAmount, depositAmount);
+                           String transactionDescription, long paymentCents, long depositCents) {
+        this(-1, account, transactionType, transactionDate, transactionDescription, paymentCents, depositCents);
     }
 
     // Getters and setters
@@ -63,7 +83,7 @@ public class TransactionBean {
     }
 
     public void setAccount(String account) {
-        this.account = account;
+        this.account = SymbolTable.intern(account);
     }
 
     public String getTransactionType() {
@@ -71,17 +91,25 @@ public class TransactionBean {
     }
 
     public void setTransactionType(String transactionType) {
-        this.transactionType = transactionType;
+        this.transactionType = SymbolTable.intern(transactionType);
     }
 
     public LocalDate getTransactionDate() {
+        if (transactionDate == null) {
+            transactionDate = LocalDate.ofEpochDay(transactionEpochDay);
+        }
         return transactionDate;
     }
 
     public void setTransactionDate(LocalDate transactionDate) {
+        this.transactionEpochDay = transactionDate.toEpochDay();
         this.transactionDate = transactionDate;
     }
 
+    public long getTransactionEpochDay() {
+        return transactionEpochDay;
+    }
+
     public String getTransactionDescription() {
         return transactionDescription;
     }
@@ -90,19 +118,50 @@ public class TransactionBean {
         this.transactionDescription = transactionDescription;
     }
 
-    public Double getPaymentAmount() {
-        return paymentAmount;
+    public long getPaymentCents() {
+        return paymentCents;
+    }
+
+    public void setPaymentCents(long paymentCents) {
+        this.paymentCents = paymentCents;
     }
 
-    public void setPaymentAmount(Double paymentAmount) {
-        this.paymentAmount = paymentAmount;
+    public long getDepositCents() {
+        return depositCents;
     }
 
-    public Double getDepositAmount() {
-        return depositAmount;
+    public void setDepositCents(long depositCents) {
+        this.depositCents = depositCents;
+    }
+
+    /**
+     * Gets the payment amount in dollars, for table columns and charts.
+     *
+     * @return the payment amount in dollars.
+     */
+    public double getPaymentAmount() {
+        return Money.toDollars(paymentCents);
+    }
+
+    /**
+     * Gets the deposit amount in dollars, for table columns and charts.
+     *
+     * @return the deposit amount in dollars.
+     */
+    public double getDepositAmount() {
+        return Money.toDollars(depositCents);
+    }
+
+    /**
+     * Gets the running balance of the account just after this transaction, in cents.
+     *
+     * @return the balance, or null if it was not loaded with the transaction.
+     */
+    public Long getBalanceCents() {
+        return balanceCents;
     }
 
-    public void setDepositAmount(Double depositAmount) {
-        this.depositAmount = depositAmount;
+    public void setBalanceCents(Long balanceCents) {
+        this.balanceCents = balanceCents;
     }
 }
@@ -0,0 +1,9 @@
+package application.services;
+
+/**
+ * Published after an account is added or deleted.
+ *
+ * @param name the name of the account.
+ */
+public record AccountChangeEvent(String name) {
+}
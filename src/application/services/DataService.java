@@ -0,0 +1,139 @@
+package application.services;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableView;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * The DataService runs database loads off the JavaFX Application Thread and hands the results back to it.
+ * Controllers show a placeholder, call {@link #load(Supplier, Consumer)}, and fill in the result when it arrives,
+ * so page switches never block the UI on SQLite. It also keeps totals of the time spent on each side.
+ */
+public final class DataService {
+
+    // One virtual thread per load; loads spend most of their time blocked in SQLite
+    private static final ExecutorService EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("clevercash-data-", 0).factory());
+
+    private static final AtomicLong tasks = new AtomicLong();
+    private static final AtomicLong failures = new AtomicLong();
+    private static final AtomicLong backgroundNanos = new AtomicLong();
+    private static final AtomicLong fxNanos = new AtomicLong();
+    private static final AtomicLong maxFxNanos = new AtomicLong();
+
+    private DataService() {
+    }
+
+    /**
+     * Runs a loader on a background thread.
+     *
+     * @param loader the work to run, typically one or more DAO calls.
+     * @param <T>    the type of the loaded value.
+     * @return a future completed with the loader's result.
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> loader) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                return loader.get();
+            } finally {
+                backgroundNanos.addAndGet(System.nanoTime() - start);
+                tasks.incrementAndGet();
+            }
+        }, EXECUTOR);
+    }
+
+    /**
+     * Runs a loader on a background thread, then passes its result to a consumer on the JavaFX Application Thread.
+     * Failures are logged and the consumer is not called.
+     *
+     * @param loader     the work to run off the FX thread.
+     * @param onFxThread receives the result on the FX thread, e.g. to fill a TableView.
+     * @param <T>        the type of the loaded value.
+     * @return a future completed with the loader's result.
+     */
+    public static <T> CompletableFuture<T> load(Supplier<T> loader, Consumer<? super T> onFxThread) {
+        CompletableFuture<T> future = supply(loader);
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                failures.incrementAndGet();
+                System.err.println("Background data load failed.");
+                error.printStackTrace();
+            } else {
+                runOnFxThread(() -> onFxThread.accept(result));
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Shows a loading placeholder in a table, loads its rows in the background and installs them when ready.
+     *
+     * @param tableView the table to fill.
+     * @param loader    loads the rows off the FX thread.
+     * @param <T>       the row type.
+     * @return a future completed with the loaded rows.
+     */
+    public static <T> CompletableFuture<ObservableList<T>> loadTable(TableView<T> tableView,
+                                                                    Supplier<? extends ObservableList<T>> loader) {
+        tableView.setPlaceholder(new Label("Loading..."));
+        return load(loader::get, items -> {
+            tableView.setItems(items);
+            tableView.setPlaceholder(new Label("No content in table"));
+        });
+    }
+
+    /**
+     * Schedules work on the JavaFX Application Thread and records how long it runs there.
+     *
+     * @param action the UI update to run.
+     */
+    public static void runOnFxThread(Runnable action) {
+        Platform.runLater(() -> {
+            long start = System.nanoTime();
+            try {
+                action.run();
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                fxNanos.addAndGet(elapsed);
+                maxFxNanos.accumulateAndGet(elapsed, Math::max);
+            }
+        });
+    }
+
+    /**
+     * Returns a snapshot of the time spent on and off the FX thread so far.
+     *
+     * @return the current {@link Metrics}.
+     */
+    public static Metrics getMetrics() {
+        return new Metrics(tasks.get(), failures.get(), backgroundNanos.get(), fxNanos.get(), maxFxNanos.get());
+    }
+
+    /**
+     * Stops accepting new loads. Called once when the application exits.
+     */
+    public static void shutdown() {
+        EXECUTOR.shutdownNow();
+    }
+
+    /**
+     * Immutable snapshot of DataService timings.
+     */
+    public record Metrics(long tasks, long failures, long backgroundNanos, long fxNanos, long maxFxNanos) {
+
+        @Override
+        public String toString() {
+            return String.format("tasks=%d failures=%d offFxThread=%.1fms onFxThread=%.1fms maxFxUpdate=%.1fms",
+                    tasks, failures, backgroundNanos / 1_000_000.0, fxNanos / 1_000_000.0, maxFxNanos / 1_000_000.0);
+        }
+    }
+}
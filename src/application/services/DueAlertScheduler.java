@@ -0,0 +1,125 @@
+package application.services;
+
+import application.database.TransactionDatabase;
+import application.model.DueTransaction;
+import application.model.Money;
+import javafx.application.Platform;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Alert.AlertType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Notifies the user of scheduled transactions on the day they fall due, for as long as the application
+ * is open. Rather than checking on a timer, the scheduler asks the database for the next day anything is
+ * due, using the index on dueDate, and sleeps until that day starts. When it wakes it posts the due
+ * transactions with {@link ScheduleMaterializer}, shows one alert listing them and looks up the next day.
+ * Adding, changing or deleting a schedule recomputes the wake-up.
+ *
+ * <p>{@link #dueWithin(int)} answers "what falls due in the next N days" for the Home page.
+ */
+public final class DueAlertScheduler {
+
+    private static final TransactionDatabase TRANSACTION_DATABASE = new TransactionDatabase();
+
+    // All checks run on this thread, so the state below needs no locking
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "clevercash-due-alerts");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static ScheduledFuture<?> wakeUp;
+    private static LocalDate lastNotified;
+    private static EventBus.Subscription subscription;
+
+    private DueAlertScheduler() {
+    }
+
+    /**
+     * Checks for transactions due today and schedules the next check. Call once the primary stage is shown.
+     */
+    public static synchronized void start() {
+        if (subscription != null) {
+            return;
+        }
+        subscription = EventBus.subscribe(ScheduledTransactionChangeEvent.class,
+                event -> TIMER.execute(DueAlertScheduler::scheduleNextCheck));
+        TIMER.execute(DueAlertScheduler::check);
+    }
+
+    /**
+     * Cancels the pending check and stops listening for schedule changes.
+     */
+    public static synchronized void stop() {
+        if (subscription != null) {
+            subscription.cancel();
+            subscription = null;
+        }
+        TIMER.shutdownNow();
+    }
+
+    /**
+     * Lists the scheduled transactions falling due from today through the given number of days.
+     *
+     * @param days the length of the window, counting today as the first day.
+     * @return the occurrences in date order.
+     */
+    public static List<DueTransaction> dueWithin(int days) {
+        LocalDate today = LocalDate.now();
+        return TRANSACTION_DATABASE.getScheduledTransactionsDueBetween(today, today.plusDays(days - 1));
+    }
+
+    private static void check() {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(lastNotified)) {
+            lastNotified = today;
+            ScheduleMaterializer.catchUp();
+            showDueNotification(TRANSACTION_DATABASE.getScheduledTransactionsDueBetween(today, today));
+        }
+        scheduleNextCheck();
+    }
+
+    private static void scheduleNextCheck() {
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+            wakeUp = null;
+        }
+        LocalDate nextDue = TRANSACTION_DATABASE.getNextDueDate(LocalDate.now());
+        if (nextDue == null) {
+            return; // No schedules; adding one schedules the next check
+        }
+
+        // If the timer wakes a little early, check() finds the same day already notified and sleeps again
+        long delayMillis = Duration.between(Instant.now(), nextDue.atStartOfDay(ZoneId.systemDefault())).toMillis();
+        wakeUp = TIMER.schedule(DueAlertScheduler::check, Math.max(delayMillis, 0), TimeUnit.MILLISECONDS);
+    }
+
+    private static void showDueNotification(List<DueTransaction> dueToday) {
+        if (dueToday.isEmpty()) {
+            return;
+        }
+
+        StringBuilder dueTodayList = new StringBuilder();
+        for (DueTransaction due : dueToday) {
+            dueTodayList.append("- ").append(due.schedule().getScheduleName())
+                    .append(" (Amount Due: ").append(Money.format(due.schedule().getPaymentCents())).append(")\n");
+        }
+
+        Platform.runLater(() -> {
+            Alert alert = new Alert(AlertType.INFORMATION);
+            alert.setTitle("Scheduled Transactions Due Today");
+            alert.setHeaderText("The following scheduled transactions are due today:");
+            alert.setContentText(dueTodayList.toString());
+            alert.showAndWait();
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package application.services;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * The EventBus delivers domain events, such as {@link TransactionChangeEvent}, from the code that
+ * changes the data to the views that display it. Events are delivered synchronously on the thread
+ * that publishes them; listeners that touch the UI must hop to the FX thread themselves.
+ */
+public final class EventBus {
+
+    private static final List<Listener<?>> listeners = new CopyOnWriteArrayList<>();
+
+    private EventBus() {
+    }
+
+    /**
+     * Registers a listener for events of the given type and its subtypes.
+     *
+     * @param eventType the event class to listen for.
+     * @param listener  called with every matching event.
+     * @param <E>       the event type.
+     * @return a Subscription that removes the listener when cancelled.
+     */
+    public static <E> Subscription subscribe(Class<E> eventType, Consumer<? super E> listener) {
+        Listener<E> entry = new Listener<>(eventType, listener);
+        listeners.add(entry);
+        return () -> listeners.remove(entry);
+    }
+
+    /**
+     * Delivers an event to every listener registered for its type. A failing listener is logged
+     * and does not prevent delivery to the others.
+     *
+     * @param event the event to publish.
+     */
+    public static void publish(Object event) {
+        for (Listener<?> listener : listeners) {
+            try {
+                listener.deliver(event);
+            } catch (RuntimeException e) {
+                System.err.println("Event listener failed for " + event.getClass().getSimpleName() + ".");
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Handle returned by {@link #subscribe(Class, Consumer)}.
+     */
+    public interface Subscription {
+        void cancel();
+    }
+
+    private record Listener<E>(Class<E> eventType, Consumer<? super E> consumer) {
+        void deliver(Object event) {
+            if (eventType.isInstance(event)) {
+                consumer.accept(eventType.cast(event));
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package application.services;
+
+import application.database.TransactionDatabase;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Posts scheduled transactions as real transactions once they fall due. Each schedule remembers the
+ * last day it was posted through, so a catch-up only writes the occurrences since then, all in one
+ * batch, and running it again posts nothing twice. The dashboard and reports then read schedules'
+ * effect from the ledger like any other transaction instead of re-deriving it on every refresh.
+ */
+public final class ScheduleMaterializer {
+
+    private static final TransactionDatabase TRANSACTION_DATABASE = new TransactionDatabase();
+
+    private ScheduleMaterializer() {
+    }
+
+    /**
+     * Posts every occurrence due up to and including today on a background thread. {@link DueAlertScheduler}
+     * calls this at startup and on each day a schedule falls due; call it as well after a schedule is saved.
+     *
+     * @return a future completed with the number of transactions posted, or 0 if posting failed.
+     */
+    public static CompletableFuture<Integer> catchUp() {
+        return DataService.supply(() -> catchUp(LocalDate.now()));
+    }
+
+    // Serialized so two catch-ups do not race for the same occurrences; the database guards them as well
+    private static synchronized int catchUp(LocalDate today) {
+        try {
+            int posted = TRANSACTION_DATABASE.postDueScheduledTransactions(today);
+            if (posted > 0) {
+                System.out.println("Posted " + posted + " scheduled transaction(s) due through " + today + ".");
+            }
+            return posted;
+        } catch (SQLException e) {
+            System.err.println("Failed to post scheduled transactions.");
+            e.printStackTrace();
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package application.services;
+
+import application.model.ScheduledTransactionBean;
+
+/**
+ * Published after a scheduled transaction is added, updated or deleted.
+ *
+ * @param before the scheduled transaction before the change, or null when it was added.
+ * @param after  the scheduled transaction after the change, or null when it was deleted.
+ */
+public record ScheduledTransactionChangeEvent(ScheduledTransactionBean before, ScheduledTransactionBean after) {
+}
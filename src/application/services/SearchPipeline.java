@@ -0,0 +1,175 @@
+package application.services;
+
+import application.database.QueryCancellation;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Turns keystrokes in a search field into background queries. Input is debounced, so a query only
+ * starts once typing pauses; every new keystroke cancels the pending or running query for the previous
+ * text; and a result is applied on the FX thread only if no newer text has been submitted since.
+ * Latencies of completed queries are kept and logged as percentiles every {@value #LOG_EVERY} queries.
+ *
+ * <p>{@link #submit(String)} and {@link #cancel()} must be called on the JavaFX Application Thread.
+ *
+ * @param <T> the type of the search result.
+ */
+public final class SearchPipeline<T> {
+
+    /**
+     * A search run off the FX thread. It should hand the token to the DAO so a superseded query can be interrupted.
+     */
+    @FunctionalInterface
+    public interface Query<T> {
+        T run(String text, QueryCancellation cancellation);
+    }
+
+    private static final int LOG_EVERY = 25;
+    private static final int LATENCY_SAMPLES = 256;
+
+    // One shared timer thread for all debounce delays; it only hands work to DataService
+    private static final ScheduledExecutorService DEBOUNCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "clevercash-search-debounce");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String name;
+    private final long debounceMillis;
+    private final Query<T> query;
+    private final Consumer<? super T> onResult;
+
+    // Only touched on the FX thread
+    private long generation;
+    private ScheduledFuture<?> pending;
+    private QueryCancellation running;
+
+    // Recent latencies in a ring buffer, guarded by this
+    private final long[] latencyNanos = new long[LATENCY_SAMPLES];
+    private int latencyCount;
+    private long completed;
+    private long superseded;
+
+    /**
+     * Creates a pipeline for one search field.
+     *
+     * @param name           the name used when logging latencies.
+     * @param debounceMillis how long typing must pause before a query starts.
+     * @param query          runs the search off the FX thread.
+     * @param onResult       receives the result of the latest query on the FX thread.
+     */
+    public SearchPipeline(String name, long debounceMillis, Query<T> query, Consumer<? super T> onResult) {
+        this.name = name;
+        this.debounceMillis = debounceMillis;
+        this.query = query;
+        this.onResult = onResult;
+    }
+
+    /**
+     * Schedules a search for the given text, superseding any earlier one.
+     *
+     * @param text the current contents of the search field.
+     */
+    public void submit(String text) {
+        long current = supersede();
+        pending = DEBOUNCE.schedule(() -> DataService.runOnFxThread(() -> start(current, text)),
+                debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Cancels the pending or running search without starting another, e.g. when the field is cleared.
+     */
+    public void cancel() {
+        supersede();
+    }
+
+    private long supersede() {
+        generation++;
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+        if (running != null) {
+            running.cancel();
+            running = null;
+            synchronized (this) {
+                superseded++;
+            }
+        }
+        return generation;
+    }
+
+    private void start(long queryGeneration, String text) {
+        if (queryGeneration != generation) {
+            return;
+        }
+        pending = null;
+        QueryCancellation cancellation = new QueryCancellation();
+        running = cancellation;
+
+        long start = System.nanoTime();
+        CompletableFuture<T> future = DataService.supply(() -> query.run(text, cancellation));
+        future.whenComplete((result, error) -> {
+            if (cancellation.isCancelled()) {
+                return;
+            }
+            if (error != null) {
+                System.err.println("Search '" + name + "' failed.");
+                error.printStackTrace();
+                return;
+            }
+            recordLatency(System.nanoTime() - start);
+            DataService.runOnFxThread(() -> {
+                // A newer keystroke may have arrived while the result was queued for the FX thread
+                if (queryGeneration == generation) {
+                    running = null;
+                    onResult.accept(result);
+                }
+            });
+        });
+    }
+
+    private void recordLatency(long nanos) {
+        String summary = null;
+        synchronized (this) {
+            latencyNanos[(int) (completed % LATENCY_SAMPLES)] = nanos;
+            latencyCount = Math.min(latencyCount + 1, LATENCY_SAMPLES);
+            completed++;
+            if (completed % LOG_EVERY == 0) {
+                summary = latencySummary();
+            }
+        }
+        if (summary != null) {
+            System.out.println(summary);
+        }
+    }
+
+    /**
+     * Summarizes the latencies of the most recent completed queries.
+     *
+     * @return a line with the p50, p95 and p99 latencies and the number of superseded queries.
+     */
+    public synchronized String latencySummary() {
+        if (latencyCount == 0) {
+            return String.format("Search '%s': no completed queries, superseded=%d", name, superseded);
+        }
+        long[] sorted = Arrays.copyOf(latencyNanos, latencyCount);
+        Arrays.sort(sorted);
+        return String.format("Search '%s' latency over last %d queries: p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms "
+                        + "(completed=%d superseded=%d)",
+                name, latencyCount, percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                sorted[sorted.length - 1] / 1_000_000.0, completed, superseded);
+    }
+
+    // Nearest-rank percentile in milliseconds
+    private static double percentile(long[] sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,18 @@
+package application.services;
+
+import application.model.TransactionBean;
+
+import java.util.List;
+
+/**
+ * Published after a batch of transactions is added in one database transaction, for example by an import.
+ * The beans do not carry their generated ids.
+ *
+ * @param transactions the transactions that were added.
+ */
+public record TransactionBatchAddedEvent(List<TransactionBean> transactions) {
+
+    public TransactionBatchAddedEvent {
+        transactions = List.copyOf(transactions);
+    }
+}
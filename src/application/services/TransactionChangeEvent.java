@@ -0,0 +1,29 @@
+package application.services;
+
+import application.model.TransactionBean;
+
+/**
+ * Published after a transaction is added, updated or deleted.
+ *
+ * @param kind   what happened to the transaction.
+ * @param before the transaction before the change, or null when it was added.
+ * @param after  the transaction after the change, or null when it was deleted.
+ */
+public record TransactionChangeEvent(Kind kind, TransactionBean before, TransactionBean after) {
+
+    public enum Kind {
+        ADDED, UPDATED, DELETED
+    }
+
+    public static TransactionChangeEvent added(TransactionBean transaction) {
+        return new TransactionChangeEvent(Kind.ADDED, null, transaction);
+    }
+
+    public static TransactionChangeEvent updated(TransactionBean before, TransactionBean after) {
+        return new TransactionChangeEvent(Kind.UPDATED, before, after);
+    }
+
+    public static TransactionChangeEvent deleted(TransactionBean transaction) {
+        return new TransactionChangeEvent(Kind.DELETED, transaction, null);
+    }
+}
@@ -0,0 +1,435 @@
+package application.services;
+
+import application.database.TransactionDatabase;
+import application.model.Money;
+import application.model.TransactionBean;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The TransactionImporter loads bank exports into the 'transactions' table.
+ * Files are read as a stream: rows are parsed and validated one at a time, collected into batches
+ * and written with {@link TransactionDatabase#addTransactions(Iterable, boolean)}, so memory use stays flat
+ * however large the file is. Progress and throughput are reported after every batch, and one
+ * {@link TransactionsImportedEvent} is published at the end rather than an event per batch.
+ *
+ * <p>Two formats are understood:</p>
+ * <ul>
+ *     <li>CSV with a header row. Recognised columns are account, type, date, description, payment and
+ *     deposit, or a single signed amount column where negative values are payments.</li>
+ *     <li>OFX/QFX statements. Each STMTTRN block becomes one transaction using DTPOSTED, TRNAMT and NAME or MEMO.</li>
+ * </ul>
+ * Rows that fail validation are skipped and counted; the rest of the file is still imported.
+ */
+public class TransactionImporter {
+
+    // Rows written per addTransactions call; each batch is committed on its own
+    private static final int BATCH_SIZE = 5_000;
+
+    // Rejected rows are counted in full, but only the first few messages are kept
+    private static final int MAX_ERROR_MESSAGES = 100;
+
+    private static final List<DateTimeFormatter> CSV_DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("M/d/yyyy"),
+            DateTimeFormatter.ofPattern("MMM d, yyyy", Locale.ENGLISH));
+
+    private final TransactionDatabase transactionDatabase;
+    private final String defaultAccount;
+    private final String defaultTransactionType;
+
+    /**
+     * Callback for import progress. Called on the importing thread after each batch is written.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(Progress progress);
+    }
+
+    /**
+     * Running totals for an import.
+     */
+    public record Progress(long rowsRead, long rowsImported, long rowsRejected, long elapsedNanos) {
+
+        public double rowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : rowsImported * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("read=%d imported=%d rejected=%d elapsed=%.1fs throughput=%.0f rows/s",
+                    rowsRead, rowsImported, rowsRejected, elapsedNanos / 1_000_000_000.0, rowsPerSecond());
+        }
+    }
+
+    /**
+     * The outcome of an import: final totals and messages for the first rejected rows.
+     */
+    public record ImportResult(Progress progress, List<String> errors) {
+    }
+
+    /**
+     * Constructs an importer.
+     *
+     * @param transactionDatabase    the database to write to.
+     * @param defaultAccount         the account used when a row does not name one (always the case for OFX).
+     * @param defaultTransactionType the transaction type used when a row does not name one.
+     */
+    public TransactionImporter(TransactionDatabase transactionDatabase, String defaultAccount, String defaultTransactionType) {
+        this.transactionDatabase = transactionDatabase;
+        this.defaultAccount = defaultAccount;
+        this.defaultTransactionType = defaultTransactionType;
+    }
+
+    /**
+     * Imports a file, choosing the format from its extension (.ofx and .qfx are OFX, anything else is CSV).
+     *
+     * @param file     the file to import.
+     * @param listener receives progress after each batch; may be null.
+     * @return the import totals and rejected-row messages.
+     * @throws IOException  if the file cannot be read.
+     * @throws SQLException if a batch cannot be written; batches committed before it are kept.
+     */
+    public ImportResult importFile(Path file, ProgressListener listener) throws IOException, SQLException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (name.endsWith(".ofx") || name.endsWith(".qfx")) {
+                return importOfx(reader, listener);
+            }
+            return importCsv(reader, listener);
+        }
+    }
+
+    /**
+     * Imports CSV rows. The first line must be a header naming the columns.
+     */
+    public ImportResult importCsv(Reader reader, ProgressListener listener) throws IOException, SQLException {
+        try (Batch batch = new Batch(listener)) {
+            return importCsv(new CsvReader(reader), batch);
+        }
+    }
+
+    private ImportResult importCsv(CsvReader reader, Batch batch) throws IOException, SQLException {
+        List<String> header = reader.readRecord();
+        if (header == null) {
+            return batch.finish();
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(normaliseColumnName(header.get(i)), i);
+        }
+        if (!columns.containsKey("date") || !columns.containsKey("description")
+                || !(columns.containsKey("amount") || columns.containsKey("payment") || columns.containsKey("deposit"))) {
+            throw new IOException("CSV header must include date, description and amount (or payment/deposit) columns.");
+        }
+
+        List<String> fields;
+        while ((fields = reader.readRecord()) != null) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                long payment;
+                long deposit;
+                if (columns.containsKey("amount")) {
+                    long amount = parseAmount(field(fields, columns, "amount"));
+                    payment = amount < 0 ? -amount : 0;
+                    deposit = amount > 0 ? amount : 0;
+                } else {
+                    payment = parseAmount(field(fields, columns, "payment"));
+                    deposit = parseAmount(field(fields, columns, "deposit"));
+                }
+                batch.add(validate(
+                        field(fields, columns, "account"),
+                        field(fields, columns, "type"),
+                        parseCsvDate(field(fields, columns, "date")),
+                        field(fields, columns, "description"),
+                        payment,
+                        deposit));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                batch.reject("Line " + reader.recordLine() + ": " + e.getMessage());
+            }
+        }
+        return batch.finish();
+    }
+
+    /**
+     * Imports the STMTTRN blocks of an OFX statement. Both SGML (OFX 1.x, unclosed leaf tags)
+     * and XML (OFX 2.x) layouts are read the same way, tag by tag, without loading the whole file.
+     */
+    public ImportResult importOfx(Reader reader, ProgressListener listener) throws IOException, SQLException {
+        try (Batch batch = new Batch(listener)) {
+            return importOfx(reader, batch);
+        }
+    }
+
+    private ImportResult importOfx(Reader reader, Batch batch) throws IOException, SQLException {
+        Map<String, String> fields = null;
+        long transactionNumber = 0;
+
+        StringBuilder tag = new StringBuilder();
+        StringBuilder value = new StringBuilder();
+        String openTag = null;
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c != '<') {
+                value.append((char) c);
+                continue;
+            }
+
+            // A tag starts: the text read so far is the value of the previous tag
+            if (fields != null && openTag != null && !openTag.startsWith("/")) {
+                String text = value.toString().trim();
+                if (!text.isEmpty()) {
+                    fields.put(openTag, text);
+                }
+            }
+            value.setLength(0);
+            tag.setLength(0);
+            while ((c = reader.read()) != -1 && c != '>') {
+                tag.append((char) c);
+            }
+            openTag = tag.toString().trim().toUpperCase(Locale.ROOT);
+
+            if (openTag.equals("STMTTRN")) {
+                fields = new HashMap<>();
+            } else if (openTag.equals("/STMTTRN") && fields != null) {
+                transactionNumber++;
+                try {
+                    long amount = parseAmount(fields.get("TRNAMT"));
+                    String description = fields.getOrDefault("NAME", fields.get("MEMO"));
+                    batch.add(validate(null, null, parseOfxDate(fields.get("DTPOSTED")), description,
+                            amount < 0 ? -amount : 0, amount > 0 ? amount : 0));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    batch.reject("Transaction " + transactionNumber + ": " + e.getMessage());
+                }
+                fields = null;
+            }
+        }
+        return batch.finish();
+    }
+
+    private TransactionBean validate(String account, String transactionType, LocalDate date, String description,
+                                     long payment, long deposit) {
+        account = account == null || account.isBlank() ? defaultAccount : account.trim();
+        transactionType = transactionType == null || transactionType.isBlank() ? defaultTransactionType : transactionType.trim();
+        if (account == null || account.isBlank()) {
+            throw new IllegalArgumentException("no account given and no default account selected");
+        }
+        if (transactionType == null || transactionType.isBlank()) {
+            throw new IllegalArgumentException("no transaction type given and no default type selected");
+        }
+        if (description == null || description.isBlank()) {
+            throw new IllegalArgumentException("description is empty");
+        }
+        if (payment == 0 && deposit == 0) {
+            throw new IllegalArgumentException("payment and deposit are both zero");
+        }
+        if (payment < 0 || deposit < 0) {
+            throw new IllegalArgumentException("payment and deposit amounts must not be negative");
+        }
+        return new TransactionBean(account, transactionType, date, description.trim(), payment, deposit);
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        return index == null || index >= fields.size() ? null : fields.get(index);
+    }
+
+    private static String normaliseColumnName(String name) {
+        String key = name.trim().toLowerCase(Locale.ROOT).replace(" ", "");
+        return switch (key) {
+            case "transactiontype" -> "type";
+            case "transactiondate" -> "date";
+            case "transactiondescription", "memo", "name" -> "description";
+            case "paymentamount", "debit" -> "payment";
+            case "depositamount", "credit" -> "deposit";
+            default -> key;
+        };
+    }
+
+    private static long parseAmount(String text) {
+        try {
+            return Money.parse(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid amount '" + text + "'");
+        }
+    }
+
+    private static LocalDate parseCsvDate(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("date is empty");
+        }
+        for (DateTimeFormatter format : CSV_DATE_FORMATS) {
+            try {
+                return LocalDate.parse(text.trim(), format);
+            } catch (DateTimeParseException ignored) {
+                // Try the next format
+            }
+        }
+        throw new IllegalArgumentException("invalid date '" + text + "'");
+    }
+
+    private static LocalDate parseOfxDate(String text) {
+        // DTPOSTED is YYYYMMDD followed by an optional time and time zone, e.g. 20240115120000[-5:EST]
+        if (text == null || text.length() < 8) {
+            throw new IllegalArgumentException("invalid posted date '" + text + "'");
+        }
+        return LocalDate.parse(text.substring(0, 8), DateTimeFormatter.BASIC_ISO_DATE);
+    }
+
+    /**
+     * Reads CSV records, honouring double-quoted fields, doubled quotes inside them and line breaks
+     * inside them, so a quoted description that spans several lines stays in one record.
+     */
+    static final class CsvReader {
+        private static final int NONE = -2;
+
+        private final Reader reader;
+        private int pushedBack = NONE;
+        private long line = 1;
+        private long recordLine;
+
+        CsvReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * Returns the line the last record read started on, counting from 1.
+         */
+        long recordLine() {
+            return recordLine;
+        }
+
+        /**
+         * Reads the next record, or returns null at the end of the input. A blank line reads as one empty field.
+         */
+        List<String> readRecord() throws IOException {
+            recordLine = line;
+            int ch = next();
+            if (ch == -1) {
+                return null;
+            }
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (; ch != -1; ch = next()) {
+                if (quoted) {
+                    if (ch != '"') {
+                        current.append((char) ch);
+                    } else if ((ch = next()) == '"') {
+                        current.append('"');
+                    } else {
+                        quoted = false;
+                        pushedBack = ch;
+                    }
+                } else if (ch == '"') {
+                    quoted = true;
+                } else if (ch == ',') {
+                    fields.add(current.toString());
+                    current.setLength(0);
+                } else if (ch == '\n') {
+                    break;
+                } else if (ch == '\r') {
+                    if ((ch = next()) != '\n') {
+                        pushedBack = ch;
+                        line++; // A lone carriage return ends the line
+                    }
+                    break;
+                } else {
+                    current.append((char) ch);
+                }
+            }
+            fields.add(current.toString());
+            return fields;
+        }
+
+        private int next() throws IOException {
+            int ch = pushedBack;
+            if (ch == NONE) {
+                ch = reader.read();
+                if (ch == '\n') {
+                    line++;
+                }
+            }
+            pushedBack = NONE;
+            return ch;
+        }
+    }
+
+    /**
+     * Collects validated rows and writes them once a batch is full. Closing it publishes one
+     * {@link TransactionsImportedEvent} for everything written, even if the import then failed.
+     */
+    private final class Batch implements AutoCloseable {
+        private final ProgressListener listener;
+        private final List<TransactionBean> pending = new ArrayList<>(BATCH_SIZE);
+        private final List<String> errors = new ArrayList<>();
+        private final long start = System.nanoTime();
+        private long rowsRead;
+        private long rowsImported;
+        private long rowsRejected;
+
+        Batch(ProgressListener listener) {
+            this.listener = listener;
+        }
+
+        void add(TransactionBean transaction) throws SQLException {
+            rowsRead++;
+            pending.add(transaction);
+            if (pending.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void reject(String message) {
+            rowsRead++;
+            rowsRejected++;
+            if (errors.size() < MAX_ERROR_MESSAGES) {
+                errors.add(message);
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (!pending.isEmpty()) {
+                rowsImported += transactionDatabase.addTransactions(pending, false);
+                pending.clear();
+            }
+            if (listener != null) {
+                listener.onProgress(progress());
+            }
+        }
+
+        private Progress progress() {
+            return new Progress(rowsRead, rowsImported, rowsRejected, System.nanoTime() - start);
+        }
+
+        ImportResult finish() throws SQLException {
+            flush();
+            return new ImportResult(progress(), List.copyOf(errors));
+        }
+
+        @Override
+        public void close() {
+            if (rowsImported > 0) {
+                EventBus.publish(new TransactionsImportedEvent(rowsImported));
+            }
+        }
+    }
+}
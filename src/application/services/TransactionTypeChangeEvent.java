@@ -0,0 +1,8 @@
+package application.services;
+
+/**
+ * Published after one or more transaction types are added, either directly or by saving a transaction
+ * whose type did not exist yet.
+ */
+public record TransactionTypeChangeEvent() {
+}
@@ -0,0 +1,11 @@
+package application.services;
+
+/**
+ * Published once after a file import has written its rows, however many batches it took, so views
+ * reload once instead of after every batch. Also published when an import fails part way, for the
+ * batches it had already committed.
+ *
+ * @param count the number of transactions imported.
+ */
+public record TransactionsImportedEvent(long count) {
+}